@@ -0,0 +1,22 @@
+package com.medexjob.config;
+
+import com.medexjob.service.CacheInvalidationChannel;
+import com.medexjob.service.LocalCacheInvalidationChannel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects how second-level cache invalidations reach other nodes with
+ * {@code cache.invalidation.channel}: {@code local} (default) for a single node. A multi-node
+ * deployment sets another value and provides a {@link CacheInvalidationChannel} bean for it.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.channel", havingValue = "local", matchIfMissing = true)
+    public CacheInvalidationChannel localCacheInvalidationChannel() {
+        return new LocalCacheInvalidationChannel();
+    }
+}
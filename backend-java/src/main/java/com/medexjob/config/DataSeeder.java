@@ -6,6 +6,8 @@ import com.medexjob.entity.User;
 import com.medexjob.repository.EmployerRepository;
 import com.medexjob.repository.JobRepository;
 import com.medexjob.repository.UserRepository;
+import com.medexjob.service.JobDimensionService;
+import com.medexjob.service.JobRangeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
@@ -100,6 +102,8 @@ public class DataSeeder implements CommandLineRunner {
     @Autowired private UserRepository userRepository;
     @Autowired private EmployerRepository employerRepository;
     @Autowired private JobRepository jobRepository;
+    @Autowired private JobDimensionService jobDimensionService;
+    @Autowired private JobRangeService jobRangeService;
     @Autowired private PasswordEncoder passwordEncoder;
 
     @Override
@@ -153,6 +157,8 @@ public class DataSeeder implements CommandLineRunner {
         j1.setApplyLink(blankToNull(job1ApplyLink));
         j1.setStatus(Job.JobStatus.ACTIVE);
         j1.setIsFeatured(job1Featured);
+        jobDimensionService.canonicalize(j1);
+        jobRangeService.apply(j1);
         jobRepository.save(j1);
 
         // Seed Job 2
@@ -174,6 +180,8 @@ public class DataSeeder implements CommandLineRunner {
         j2.setApplyLink(blankToNull(job2ApplyLink));
         j2.setStatus(Job.JobStatus.ACTIVE);
         j2.setIsFeatured(job2Featured);
+        jobDimensionService.canonicalize(j2);
+        jobRangeService.apply(j2);
         jobRepository.save(j2);
     }
 
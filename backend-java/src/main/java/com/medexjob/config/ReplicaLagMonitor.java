@@ -0,0 +1,109 @@
+package com.medexjob.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks every replica of the {@link ReplicaRoutingDataSource} and takes it out of read rotation
+ * while it is unreachable, not replicating, or more than {@code datasource.replicas.max-lag}
+ * behind the primary. With {@code lag-check: none} only reachability is checked (for local
+ * testing against instances that do not replicate, e.g. H2).
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    // Last measured lag in seconds; -1 while unknown or broken
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+
+    @Value("${datasource.replicas.max-lag:PT5S}")
+    private Duration maxLag;
+
+    @Value("${datasource.replicas.lag-check:mysql}")
+    private String lagCheck;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        for (String replica : routingDataSource.getReplicas()) {
+            lagSeconds.put(replica, -1.0);
+            Gauge.builder("datasource.replica.lag", lagSeconds, m -> m.getOrDefault(replica, -1.0))
+                    .tag("replica", replica)
+                    .baseUnit("seconds")
+                    .description("Replication lag behind the primary (-1 if unknown)")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval:PT5S}", initialDelay = 0)
+    public void check() {
+        for (String replica : routingDataSource.getReplicas()) {
+            boolean isHealthy;
+            try {
+                Double lag = measureLag(replica);
+                lagSeconds.put(replica, lag != null ? lag : -1.0);
+                isHealthy = lag != null && lag <= maxLag.toSeconds();
+                if (!isHealthy && !Boolean.FALSE.equals(healthy.get(replica))) {
+                    logger.warn("Replica {} taken out of rotation: {}", replica,
+                            lag == null ? "replication is not running" : "lag " + lag.longValue() + "s exceeds " + maxLag.toSeconds() + "s");
+                }
+            } catch (SQLException | RuntimeException e) {
+                lagSeconds.put(replica, -1.0);
+                isHealthy = false;
+                if (!Boolean.FALSE.equals(healthy.get(replica))) {
+                    logger.warn("Replica {} taken out of rotation: {}", replica, e.getMessage());
+                }
+            }
+            if (isHealthy && Boolean.FALSE.equals(healthy.get(replica))) {
+                logger.info("Replica {} back in rotation", replica);
+            }
+            healthy.put(replica, isHealthy);
+            routingDataSource.setHealthy(replica, isHealthy);
+        }
+    }
+
+    // Seconds behind the primary, or null if replication is not running
+    private Double measureLag(String replica) throws SQLException {
+        try (Connection connection = routingDataSource.getReplica(replica).getConnection()) {
+            if ("none".equalsIgnoreCase(lagCheck)) {
+                if (!connection.isValid(2)) throw new SQLException("connection is not valid");
+                return 0.0;
+            }
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                    return readLag(rs, "Seconds_Behind_Source");
+                } catch (SQLException e) {
+                    // MySQL before 8.0.22
+                    try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                        return readLag(rs, "Seconds_Behind_Master");
+                    }
+                }
+            }
+        }
+    }
+
+    private static Double readLag(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) {
+            throw new SQLException("not configured as a replica");
+        }
+        long seconds = rs.getLong(column);
+        return rs.wasNull() ? null : (double) seconds;
+    }
+}
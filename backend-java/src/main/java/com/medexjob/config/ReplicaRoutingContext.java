@@ -0,0 +1,29 @@
+package com.medexjob.config;
+
+/**
+ * Per-thread "this request has written" flag for {@link ReplicaRoutingDataSource}. Once a request
+ * runs a read-write transaction, its later reads also go to the primary, so it never reads data
+ * older than its own writes from a lagging replica. Cleared at the end of every request by
+ * {@link ReplicaRoutingFilter}; background threads (schedulers, executors) stay pinned once they
+ * have written.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    /** Sends the rest of this request's reads to the primary. */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,104 @@
+package com.medexjob.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of read-only transactions ({@code @Transactional(readOnly = true)}) to the
+ * healthy replicas, round robin, and everything else to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for the connection before the read-only flag is published, the proxy defers the
+ * real connection to the first statement.
+ * <p>
+ * Replicas marked unhealthy by {@link ReplicaLagMonitor} (unreachable, replication stopped or
+ * lagging more than the configured bound) get no reads; with none healthy, reads fail over to
+ * the primary. A request that has written reads from the primary from then on
+ * ({@link ReplicaRoutingContext}).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicas;
+    private final Set<String> healthy = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+    private final Counter failoverCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicas = List.copyOf(replicas.keySet());
+        // Healthy until the first check says otherwise
+        this.healthy.addAll(this.replicas);
+
+        this.primaryCounter = Counter.builder("datasource.routing").tag("target", "primary")
+                .description("Connections handed out by target")
+                .register(meterRegistry);
+        this.replicaCounter = Counter.builder("datasource.routing").tag("target", "replica")
+                .description("Connections handed out by target")
+                .register(meterRegistry);
+        this.failoverCounter = Counter.builder("datasource.routing").tag("target", "failover")
+                .description("Connections handed out by target")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", healthy, Set::size)
+                .description("Replicas currently receiving reads")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Auto-commit access outside transactions (e.g. the security filter's user lookup)
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaRoutingContext.pinToPrimary();
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+        if (ReplicaRoutingContext.isPinnedToPrimary()) {
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+
+        String[] candidates;
+        synchronized (healthy) {
+            candidates = healthy.toArray(new String[0]);
+        }
+        if (candidates.length == 0) {
+            failoverCounter.increment();
+            return PRIMARY;
+        }
+        replicaCounter.increment();
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    List<String> getReplicas() {
+        return replicas;
+    }
+
+    DataSource getReplica(String name) {
+        return (DataSource) getResolvedDataSources().get(name);
+    }
+
+    void setHealthy(String replica, boolean isHealthy) {
+        if (isHealthy) {
+            healthy.add(replica);
+        } else {
+            healthy.remove(replica);
+        }
+    }
+}
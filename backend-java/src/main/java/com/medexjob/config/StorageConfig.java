@@ -0,0 +1,100 @@
+package com.medexjob.config;
+
+import com.medexjob.storage.BlobStore;
+import com.medexjob.storage.LocalBlobStore;
+import com.medexjob.storage.S3BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+/**
+ * Selects the document store with {@code storage.type}: {@code local} (default) keeps files under
+ * {@code file.upload-dir}; {@code s3} uses an S3-compatible bucket, e.g. MinIO for local testing.
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(@Value("${file.upload-dir:uploads/}") String uploadDir) {
+        return new LocalBlobStore(Paths.get(uploadDir));
+    }
+
+    // ---------------- S3 ----------------
+    // The SDK clients hold HTTP connection pools and threads; close them with the context
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+    public S3Client s3Client(
+            @Value("${storage.s3.region:us-east-1}") String region,
+            @Value("${storage.s3.endpoint:}") String endpoint,
+            @Value("${storage.s3.access-key:}") String accessKey,
+            @Value("${storage.s3.secret-key:}") String secretKey,
+            @Value("${storage.s3.path-style-access:false}") boolean pathStyleAccess
+    ) {
+        S3ClientBuilder client = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials(accessKey, secretKey))
+                .serviceConfiguration(s3Configuration(pathStyleAccess));
+        if (!endpoint.isBlank()) {
+            client.endpointOverride(URI.create(endpoint));
+        }
+        return client.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+    public S3Presigner s3Presigner(
+            @Value("${storage.s3.region:us-east-1}") String region,
+            @Value("${storage.s3.endpoint:}") String endpoint,
+            @Value("${storage.s3.access-key:}") String accessKey,
+            @Value("${storage.s3.secret-key:}") String secretKey,
+            @Value("${storage.s3.path-style-access:false}") boolean pathStyleAccess
+    ) {
+        S3Presigner.Builder presigner = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials(accessKey, secretKey))
+                .serviceConfiguration(s3Configuration(pathStyleAccess));
+        if (!endpoint.isBlank()) {
+            presigner.endpointOverride(URI.create(endpoint));
+        }
+        return presigner.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+    public BlobStore s3BlobStore(
+            S3Client s3Client,
+            S3Presigner s3Presigner,
+            @Value("${storage.s3.bucket}") String bucket,
+            @Value("${storage.s3.multipart-threshold:16777216}") long multipartThreshold,
+            @Value("${storage.s3.part-size:8388608}") int partSize
+    ) {
+        return new S3BlobStore(s3Client, s3Presigner, bucket, multipartThreshold, partSize);
+    }
+
+    private static AwsCredentialsProvider credentials(String accessKey, String secretKey) {
+        return accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+
+    private static S3Configuration s3Configuration(boolean pathStyleAccess) {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess) // MinIO and most self-hosted stores need path-style
+                .build();
+    }
+}
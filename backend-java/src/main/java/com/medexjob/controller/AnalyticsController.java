@@ -6,6 +6,7 @@ import com.medexjob.repository.JobRepository;
 import com.medexjob.repository.UserRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,6 +16,7 @@ import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/analytics")
+@Transactional(readOnly = true) // served by a read replica when configured
 public class AnalyticsController {
 
     private final JobRepository jobRepository;
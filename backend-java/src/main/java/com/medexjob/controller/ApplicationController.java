@@ -1,23 +1,40 @@
 package com.medexjob.controller;
 
 import com.medexjob.entity.Application;
+import com.medexjob.entity.DocumentProcessingJob;
 import com.medexjob.entity.Job;
+import com.medexjob.entity.UploadSession;
 import com.medexjob.repository.ApplicationRepository;
 import com.medexjob.repository.JobRepository;
+import com.medexjob.service.ApplicationDuplicateGuard;
+import com.medexjob.service.ApplicationIntakeService;
+import com.medexjob.service.ChunkedUploadService;
+import com.medexjob.service.DocumentProcessingService;
+import com.medexjob.service.ExportService;
+import com.medexjob.service.IdempotencyService;
+import com.medexjob.service.ResumeSearchIndex;
+import com.medexjob.service.ResumeStorageService;
+import com.medexjob.storage.UploadIoStage;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,66 +44,193 @@ public class ApplicationController {
 
     private final ApplicationRepository applicationRepository;
     private final JobRepository jobRepository;
-    private final Path uploadPath = Paths.get("uploads");
+    private final ResumeStorageService resumeStorageService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final DocumentProcessingService documentProcessingService;
+    private final ResumeSearchIndex resumeSearchIndex;
+    private final UploadIoStage uploadIoStage;
+    private final ApplicationIntakeService applicationIntakeService;
+    private final IdempotencyService idempotencyService;
+    private final ApplicationDuplicateGuard applicationDuplicateGuard;
+    private final ExportService exportService;
 
-    public ApplicationController(ApplicationRepository applicationRepository, JobRepository jobRepository) {
+    public ApplicationController(ApplicationRepository applicationRepository, JobRepository jobRepository,
+                                 ResumeStorageService resumeStorageService, ChunkedUploadService chunkedUploadService,
+                                 DocumentProcessingService documentProcessingService, ResumeSearchIndex resumeSearchIndex,
+                                 UploadIoStage uploadIoStage, ApplicationIntakeService applicationIntakeService,
+                                 IdempotencyService idempotencyService, ApplicationDuplicateGuard applicationDuplicateGuard,
+                                 ExportService exportService) {
         this.applicationRepository = applicationRepository;
         this.jobRepository = jobRepository;
-        try {
-            Files.createDirectories(uploadPath);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create upload directory", e);
-        }
+        this.resumeStorageService = resumeStorageService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.documentProcessingService = documentProcessingService;
+        this.resumeSearchIndex = resumeSearchIndex;
+        this.uploadIoStage = uploadIoStage;
+        this.applicationIntakeService = applicationIntakeService;
+        this.idempotencyService = idempotencyService;
+        this.applicationDuplicateGuard = applicationDuplicateGuard;
+        this.exportService = exportService;
     }
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> apply(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> apply(
             @RequestParam("jobId") UUID jobId,
             @RequestParam("candidateName") String candidateName,
             @RequestParam("candidateEmail") String candidateEmail,
             @RequestParam("candidatePhone") String candidatePhone,
             @RequestParam(value = "resume", required = false) MultipartFile resume,
-            @RequestParam(value = "notes", required = false) String notes
+            @RequestParam(value = "resumeUploadId", required = false) UUID resumeUploadId,
+            @RequestParam(value = "notes", required = false) String notes,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication authentication
     ) {
-        return jobRepository.findById(jobId)
-                .map(job -> {
-                    try {
-                        Application application = new Application();
-                        application.setJob(job);
-                        application.setCandidateName(candidateName);
-                        application.setCandidateEmail(candidateEmail);
-                        application.setCandidatePhone(candidatePhone);
-                        application.setNotes(notes);
-                        application.setStatus(Application.ApplicationStatus.APPLIED);
-
-                        // Handle resume upload
-                        if (resume != null && !resume.isEmpty()) {
-                            String fileName = UUID.randomUUID() + "_" + resume.getOriginalFilename();
-                            Path filePath = uploadPath.resolve(fileName);
-                            Files.copy(resume.getInputStream(), filePath);
-                            application.setResumeUrl("/uploads/" + fileName);
-                        }
+        // Retries after a timeout get the first attempt's response instead of applying twice
+        String fingerprint = IdempotencyService.fingerprint(jobId, candidateName, candidateEmail, candidatePhone, notes,
+                resumeUploadId, resume != null ? resume.getOriginalFilename() : null, resume != null ? resume.getSize() : null);
+        return idempotencyService.execute("applications", idempotencyKey, authentication.getName(), fingerprint,
+                () -> submit(jobId, candidateName, candidateEmail, candidatePhone, resume, resumeUploadId, notes, authentication));
+    }
 
-                        Application saved = applicationRepository.save(application);
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> submit(
+            UUID jobId, String candidateName, String candidateEmail, String candidatePhone,
+            MultipartFile resume, UUID resumeUploadId, String notes, Authentication authentication) {
+        Optional<Job> found = jobRepository.findById(jobId);
+        if (found.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        Job job = found.get();
 
-                        // Update job applications count
-                        job.setApplicationsCount(job.getApplicationsCount() + 1);
-                        jobRepository.save(job);
+        if (applicationDuplicateGuard.isDuplicate(jobId, candidateEmail)) {
+            return CompletableFuture.completedFuture(alreadyApplied());
+        }
 
-                        Map<String, Object> response = new HashMap<>();
-                        response.put("id", saved.getId().toString());
-                        response.put("message", "Application submitted successfully!");
-                        response.put("status", "success");
-                        return ResponseEntity.ok(response);
+        Application application = new Application();
+        application.setJob(job);
+        application.setCandidateName(candidateName);
+        application.setCandidateEmail(candidateEmail);
+        application.setCandidatePhone(candidatePhone);
+        application.setNotes(notes);
+        application.setStatus(Application.ApplicationStatus.APPLIED);
 
-                    } catch (IOException e) {
-                        Map<String, Object> error = new HashMap<>();
-                        error.put("message", "Failed to upload resume");
-                        error.put("status", "error");
-                        return ResponseEntity.internalServerError().body(error);
-                    }
-                })
-                .orElse(ResponseEntity.notFound().build());
+        if (applicationIntakeService.isQueued()) {
+            // Nothing is checked after acknowledging, so validate before storing anything
+            List<String> errors = applicationIntakeService.validate(application);
+            if (!errors.isEmpty()) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("message", "Invalid application");
+                error.put("errors", errors);
+                error.put("status", "error");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(error));
+            }
+        }
+
+        // Resume persistence (deduplicated by content hash) runs on the upload I/O stage, not here
+        CompletableFuture<ResponseEntity<Map<String, Object>>> result;
+        if (resumeUploadId != null) {
+            // Resume sent earlier through the resumable upload protocol
+            UploadSession upload = chunkedUploadService.claimCompleted(resumeUploadId, authentication.getName(),
+                    UploadSession.UploadPurpose.RESUME);
+            result = uploadIoStage.submit(upload.getTotalSize(), () -> resumeStorageService.storeVerified(
+                            chunkedUploadService.fileOf(upload), upload.getSha256(), upload.getTotalSize(), upload.getContentType()))
+                    .thenApply(resumeUrl -> submitApplication(job, application, resumeUrl, upload));
+        } else if (resume != null && !resume.isEmpty()) {
+            result = uploadIoStage.submit(resume.getSize(), () -> resumeStorageService.store(resume))
+                    .thenApply(resumeUrl -> submitApplication(job, application, resumeUrl, null));
+        } else {
+            return CompletableFuture.completedFuture(submitApplication(job, application, null, null));
+        }
+
+        return result.exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (!(cause instanceof UncheckedIOException)) {
+                throw ex instanceof CompletionException ce ? ce : new CompletionException(cause);
+            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "Failed to upload resume");
+            error.put("status", "error");
+            return ResponseEntity.internalServerError().body(error);
+        });
+    }
+
+    private ResponseEntity<Map<String, Object>> submitApplication(Job job, Application application, String resumeUrl,
+                                                                  UploadSession upload) {
+        application.setResumeUrl(resumeUrl);
+        if (applicationIntakeService.isQueued()) {
+            return acceptApplication(application, upload);
+        }
+
+        Application saved;
+        try {
+            saved = applicationRepository.save(application);
+        } catch (RuntimeException e) {
+            // Don't leak the resume reference taken above
+            resumeStorageService.release(resumeUrl);
+            if (e instanceof DataIntegrityViolationException) {
+                // Lost a race with a concurrent apply by the same candidate (uk_applications_job_email)
+                return alreadyApplied();
+            }
+            throw e;
+        }
+        applicationDuplicateGuard.recordApplied(job.getId(), saved.getCandidateEmail());
+
+        if (upload != null) {
+            try {
+                chunkedUploadService.discard(upload);
+            } catch (IOException e) {
+                // The stale-session collector removes it later
+            }
+        }
+        // Text extraction etc. runs in the background
+        documentProcessingService.enqueue(ResumeStorageService.blobKeyOf(saved.getResumeUrl()),
+                DocumentProcessingJob.DocumentSource.RESUME);
+        resumeSearchIndex.applicationAdded(saved.getId(), job.getId(), saved.getCandidateName(), saved.getResumeUrl());
+
+        // Update job applications count
+        job.setApplicationsCount(job.getApplicationsCount() + 1);
+        jobRepository.save(job);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", saved.getId().toString());
+        response.put("message", "Application submitted successfully!");
+        response.put("status", "success");
+        return ResponseEntity.ok(response);
+    }
+
+    // Queued intake: durably logged and acknowledged now, inserted by the intake drainer shortly after
+    private ResponseEntity<Map<String, Object>> acceptApplication(Application application, UploadSession upload) {
+        UUID id;
+        try {
+            id = applicationIntakeService.accept(application);
+            applicationDuplicateGuard.recordApplied(application.getJob().getId(), application.getCandidateEmail());
+        } catch (IOException e) {
+            resumeStorageService.release(application.getResumeUrl());
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "Could not accept application, please retry");
+            error.put("status", "error");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        }
+
+        if (upload != null) {
+            try {
+                chunkedUploadService.discard(upload);
+            } catch (IOException e) {
+                // The stale-session collector removes it later
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", id.toString());
+        response.put("message", "Application submitted successfully!");
+        response.put("status", "accepted");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> alreadyApplied() {
+        Map<String, Object> error = new HashMap<>();
+        error.put("message", "You have already applied for this job");
+        error.put("status", "error");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
     @GetMapping
@@ -137,6 +281,83 @@ public class ApplicationController {
         return ResponseEntity.ok(body);
     }
 
+    /**
+     * Admin export of all applications (optionally for one job and/or status) as CSV or NDJSON,
+     * streamed from the database instead of paging through {@link #list}.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void export(
+            @RequestParam(value = "jobId", required = false) UUID jobId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        Application.ApplicationStatus statusFilter = status != null ? parseStatus(status) : null;
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"applications." + exportFormat.getExtension() + "\"");
+        exportService.export("applications", () -> applicationRepository.streamForExport(jobId, statusFilter),
+                this::toResponse, exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Ranked search over applicants' resume text. Employers search their own jobs (all of them
+     * unless {@code jobId} is given); admins must pick a job. Terms are ANDed; quote phrases.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchResumes(
+            @RequestParam("q") String query,
+            @RequestParam(value = "jobId", required = false) UUID jobId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        boolean admin = hasRole(authentication, "ROLE_ADMIN");
+        List<UUID> jobIds;
+        if (jobId != null) {
+            if (!admin && !jobRepository.existsByIdAndEmployerUserEmail(jobId, authentication.getName())) {
+                return ResponseEntity.status(403).body(Map.of("error", "Not your job"));
+            }
+            jobIds = List.of(jobId);
+        } else if (hasRole(authentication, "ROLE_EMPLOYER")) {
+            jobIds = jobRepository.findIdsByEmployerUserEmail(authentication.getName());
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", "jobId is required"));
+        }
+
+        List<ResumeSearchIndex.Hit> hits = new ArrayList<>();
+        for (UUID id : jobIds) {
+            hits.addAll(resumeSearchIndex.search(id, query));
+        }
+        hits.sort(Comparator.comparingDouble(ResumeSearchIndex.Hit::getScore).reversed());
+
+        int pageSize = Math.max(1, size);
+        int from = Math.min(Math.max(0, page) * pageSize, hits.size());
+        List<ResumeSearchIndex.Hit> pageHits = hits.subList(from, Math.min(from + pageSize, hits.size()));
+
+        Map<UUID, Application> byId = applicationRepository
+                .findAllWithJobByIdIn(pageHits.stream().map(ResumeSearchIndex.Hit::getApplicationId).toList())
+                .stream().collect(Collectors.toMap(Application::getId, a -> a));
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (ResumeSearchIndex.Hit hit : pageHits) {
+            Application app = byId.get(hit.getApplicationId());
+            if (app == null) continue; // deleted since it was indexed
+            Map<String, Object> m = toResponse(app);
+            m.put("score", hit.getScore());
+            content.add(m);
+        }
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("content", content);
+        body.put("page", page);
+        body.put("size", pageSize);
+        body.put("totalElements", hits.size());
+        body.put("totalPages", (hits.size() + pageSize - 1) / pageSize);
+        return ResponseEntity.ok(body);
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<Map<String, Object>> updateStatus(
             @PathVariable("id") UUID id,
@@ -175,9 +396,19 @@ public class ApplicationController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable("id") UUID id) {
-        if (!applicationRepository.existsById(id)) return ResponseEntity.notFound().build();
-        applicationRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+        return applicationRepository.findById(id)
+                .map(application -> {
+                    UUID jobId = application.getJob().getId();
+                    applicationRepository.delete(application);
+                    resumeStorageService.release(application.getResumeUrl());
+                    resumeSearchIndex.applicationRemoved(id, jobId);
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static boolean hasRole(Authentication auth, String role) {
+        return auth.getAuthorities().stream().anyMatch(a -> role.equals(a.getAuthority()));
     }
 
     private Application.ApplicationStatus parseStatus(String status) {
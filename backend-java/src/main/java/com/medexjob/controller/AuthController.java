@@ -5,7 +5,10 @@ import com.medexjob.dto.ResetPasswordRequest;
 import com.medexjob.dto.ForgotPasswordRequest;
 import com.medexjob.dto.RegisterRequest;
 import com.medexjob.dto.AuthResponse;
+import com.medexjob.security.LoginRateLimiter;
+import com.medexjob.security.PasswordHashingExecutor;
 import com.medexjob.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -25,19 +29,32 @@ public class AuthController {
     @Autowired
    private AuthService authService;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
     
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        authService.register(registerRequest);
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "User registered successfully. Please check your email to verify your account.");
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest registerRequest) {
+        // BCrypt runs on the hashing pool, not on the request thread
+        return passwordHashingExecutor.submit(() -> {
+            authService.register(registerRequest);
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "User registered successfully. Please check your email to verify your account.");
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        AuthResponse response = authService.login(loginRequest);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                      HttpServletRequest request) {
+        // Reject throttled attempts before they cost a BCrypt verification
+        loginRateLimiter.checkLoginAllowed(request, loginRequest.getEmail());
+        return passwordHashingExecutor.submit(() -> {
+            AuthResponse response = authService.login(loginRequest);
+            return ResponseEntity.ok(response);
+        });
     }
     
     @GetMapping("/me")
@@ -63,11 +80,13 @@ public class AuthController {
     }
     
     @PostMapping("/reset-password")
-    public ResponseEntity<?> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
-        authService.resetPassword(request.getToken(), request.getNewPassword());
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Password reset successfully");
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<?>> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+        return passwordHashingExecutor.submit(() -> {
+            authService.resetPassword(request.getToken(), request.getNewPassword());
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Password reset successfully");
+            return ResponseEntity.ok(response);
+        });
     }
 }
 
@@ -1,21 +1,31 @@
 package com.medexjob.controller;
 
+import com.medexjob.entity.DocumentProcessingJob;
 import com.medexjob.entity.Employer;
+import com.medexjob.entity.EmployerDocument;
+import com.medexjob.entity.UploadSession;
+import com.medexjob.repository.EmployerDocumentRepository;
 import com.medexjob.repository.EmployerRepository;
+import com.medexjob.service.ChunkedUploadService;
+import com.medexjob.service.DocumentProcessingService;
+import com.medexjob.storage.BlobStore;
+import com.medexjob.storage.UploadIoStage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,15 +34,21 @@ import java.util.stream.Collectors;
 public class EmployerController {
 
     private final EmployerRepository employerRepository;
-    private final Path uploadPath = Paths.get("uploads/verification");
-
-    public EmployerController(EmployerRepository employerRepository) {
+    private final EmployerDocumentRepository employerDocumentRepository;
+    private final BlobStore blobStore;
+    private final ChunkedUploadService chunkedUploadService;
+    private final DocumentProcessingService documentProcessingService;
+    private final UploadIoStage uploadIoStage;
+
+    public EmployerController(EmployerRepository employerRepository, EmployerDocumentRepository employerDocumentRepository,
+                              BlobStore blobStore, ChunkedUploadService chunkedUploadService,
+                              DocumentProcessingService documentProcessingService, UploadIoStage uploadIoStage) {
         this.employerRepository = employerRepository;
-        try {
-            Files.createDirectories(uploadPath);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create verification upload directory", e);
-        }
+        this.employerDocumentRepository = employerDocumentRepository;
+        this.blobStore = blobStore;
+        this.chunkedUploadService = chunkedUploadService;
+        this.documentProcessingService = documentProcessingService;
+        this.uploadIoStage = uploadIoStage;
     }
 
     @GetMapping
@@ -102,29 +118,77 @@ public class EmployerController {
     }
 
     @PostMapping("/{id}/documents")
-    public ResponseEntity<Map<String, Object>> uploadVerificationDocument(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadVerificationDocument(
             @PathVariable UUID id,
-            @RequestParam("document") MultipartFile document
+            @RequestParam(value = "document", required = false) MultipartFile document,
+            @RequestParam(value = "uploadId", required = false) UUID uploadId,
+            Authentication authentication
     ) {
-        return employerRepository.findById(id)
-                .map(employer -> {
-                    try {
-                        String fileName = id + "_" + document.getOriginalFilename();
-                        Path filePath = uploadPath.resolve(fileName);
-                        Files.copy(document.getInputStream(), filePath);
-
-                        // In a real implementation, you'd store document references in a separate table
-                        // For now, we'll just acknowledge the upload
-
-                        Map<String, Object> response = new HashMap<>();
-                        response.put("message", "Document uploaded successfully");
-                        response.put("fileName", fileName);
-                        return ResponseEntity.ok(response);
-                    } catch (IOException e) {
-                        return ResponseEntity.internalServerError().build();
-                    }
-                })
-                .orElse(ResponseEntity.notFound().build());
+        if ((document == null || document.isEmpty()) && uploadId == null) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Either document or uploadId is required")));
+        }
+        Optional<Employer> found = employerRepository.findById(id);
+        if (found.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        Employer employer = found.get();
+
+        // The blob write runs on the upload I/O stage; the DB row is saved once it is durable
+        CompletableFuture<EmployerDocument> stored;
+        if (uploadId != null) {
+            // Document sent earlier through the resumable upload protocol (already checksummed)
+            UploadSession upload = chunkedUploadService.claimCompleted(uploadId, authentication.getName(),
+                    UploadSession.UploadPurpose.EMPLOYER_DOCUMENT);
+            String fileName = id + "_" + sanitizeFileName(upload.getFileName());
+            stored = uploadIoStage.submit(upload.getTotalSize(), () -> {
+                blobStore.put("verification/" + fileName, chunkedUploadService.fileOf(upload), upload.getContentType());
+                return new EmployerDocument(employer, "verification/" + fileName,
+                        fileName, upload.getContentType(), upload.getTotalSize(), upload.getSha256());
+            }).thenApply(doc -> {
+                EmployerDocument saved = employerDocumentRepository.save(doc);
+                try {
+                    chunkedUploadService.discard(upload);
+                } catch (IOException e) {
+                    // The stale-session collector removes it later
+                }
+                return saved;
+            });
+        } else {
+            String fileName = id + "_" + sanitizeFileName(document.getOriginalFilename());
+            stored = uploadIoStage.submit(document.getSize(), () -> {
+                try (InputStream in = document.getInputStream()) {
+                    blobStore.put("verification/" + fileName, in, document.getSize(), document.getContentType());
+                }
+                return new EmployerDocument(employer, "verification/" + fileName,
+                        fileName, document.getContentType(), document.getSize(), null);
+            }).thenApply(employerDocumentRepository::save);
+        }
+
+        return stored.thenApply(saved -> {
+            documentProcessingService.enqueue(saved.getBlobKey(), DocumentProcessingJob.DocumentSource.EMPLOYER_DOCUMENT);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Document uploaded successfully");
+            response.put("id", saved.getId().toString());
+            response.put("fileName", saved.getFileName());
+            response.put("url", "/uploads/" + saved.getBlobKey());
+            return ResponseEntity.ok(response);
+        }).exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (!(cause instanceof UncheckedIOException)) {
+                throw ex instanceof CompletionException ce ? ce : new CompletionException(cause);
+            }
+            return ResponseEntity.internalServerError().build();
+        });
+    }
+
+    // Keep only the last path segment and safe characters so the name cannot escape the verification prefix
+    private String sanitizeFileName(String originalFilename) {
+        String name = originalFilename == null ? "" : originalFilename;
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isBlank() || name.startsWith(".") ? "document" + name : name;
     }
 
     private Map<String, Object> toResponse(Employer employer) {
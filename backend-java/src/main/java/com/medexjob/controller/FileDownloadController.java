@@ -0,0 +1,245 @@
+package com.medexjob.controller;
+
+import com.medexjob.entity.StoredFile;
+import com.medexjob.repository.ApplicationRepository;
+import com.medexjob.repository.EmployerRepository;
+import com.medexjob.repository.StoredFileRepository;
+import com.medexjob.service.ResumeStorageService;
+import com.medexjob.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Serves uploaded resumes and employer documents at the URLs stored on the entities
+ * ({@code /uploads/...}). Files on local disk of at least 48 KB are sent with Tomcat sendfile,
+ * which is zero-copy; smaller files and connectors without sendfile fall back to a buffered copy
+ * ({@link FileChannel#transferTo} into the response stream). Object-store blobs are redirected to a
+ * presigned URL. Supports single HTTP ranges, ETag and Last-Modified.
+ */
+@RestController
+public class FileDownloadController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Below this size a plain write is cheaper than handing the file to the poller (Tomcat's own default)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final Duration PRESIGNED_URL_TTL = Duration.ofMinutes(5);
+
+    private final BlobStore blobStore;
+    private final ApplicationRepository applicationRepository;
+    private final EmployerRepository employerRepository;
+    private final StoredFileRepository storedFileRepository;
+
+    public FileDownloadController(BlobStore blobStore, ApplicationRepository applicationRepository,
+                                  EmployerRepository employerRepository, StoredFileRepository storedFileRepository) {
+        this.blobStore = blobStore;
+        this.applicationRepository = applicationRepository;
+        this.employerRepository = employerRepository;
+        this.storedFileRepository = storedFileRepository;
+    }
+
+    @RequestMapping(value = "/uploads/{*path}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void download(@PathVariable("path") String path, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        String key = path.startsWith("/") ? path.substring(1) : path;
+        if (key.isEmpty() || key.contains("..") || key.startsWith("tmp/")) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!isAllowed(key)) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        Optional<Path> localFile = blobStore.localFile(key);
+        if (localFile.isEmpty()) {
+            Optional<URI> presigned = blobStore.presignedDownloadUrl(key, PRESIGNED_URL_TTL);
+            if (presigned.isPresent()) {
+                // Object store: let the client fetch the bytes directly from the bucket
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+                response.sendRedirect(presigned.get().toString());
+            } else {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            }
+            return;
+        }
+
+        Path file = localFile.get();
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String eTag = ResumeStorageService.sha256Of("/uploads/" + key)
+                .map(sha -> "\"" + sha + "\"") // content-addressed: the hash is a perfect strong validator
+                .orElse("\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"");
+
+        // Sets ETag/Last-Modified and answers If-None-Match / If-Modified-Since with 304
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(contentTypeOf(key));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=0, must-revalidate");
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), eTag, lastModified)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file with sendfile after this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+            out.flush();
+        }
+    }
+
+    // Admins may open any file. Employers may open resumes (and their thumbnails) sent to one of their
+    // own jobs, candidates only their own resumes. Verification documents are visible to admins and
+    // to the employer they belong to.
+    private boolean isAllowed(String key) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) return false;
+        if (hasRole(auth, "ROLE_ADMIN")) return true;
+
+        if (key.startsWith("verification/")) {
+            String name = key.substring("verification/".length());
+            int separator = name.indexOf('_');
+            if (separator != 36) return false;
+            try {
+                return employerRepository.existsByIdAndUserEmail(UUID.fromString(name.substring(0, separator)), auth.getName());
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        if (hasRole(auth, "ROLE_EMPLOYER")) {
+            if (key.startsWith("thumbnails/")) {
+                return applicationRepository.existsThumbnailForEmployer(key, auth.getName());
+            }
+            return applicationRepository.existsByResumeUrlAndJobEmployerUserEmail("/uploads/" + key, auth.getName());
+        }
+        return applicationRepository.existsByResumeUrlAndCandidateEmailIgnoreCase("/uploads/" + key, auth.getName());
+    }
+
+    private static boolean hasRole(Authentication auth, String role) {
+        return auth.getAuthorities().stream().anyMatch(a -> role.equals(a.getAuthority()));
+    }
+
+    private String contentTypeOf(String key) {
+        Optional<String> stored = ResumeStorageService.sha256Of("/uploads/" + key)
+                .flatMap(storedFileRepository::findById)
+                .map(StoredFile::getContentType);
+        String type = stored.orElseGet(() -> URLConnection.guessContentTypeFromName(key));
+        return type != null ? type : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    // A Range is only honoured when If-Range (if sent) still matches the current representation
+    private static boolean ifRangeMatches(String ifRange, String eTag, long lastModified) {
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return date / 1000 == lastModified / 1000;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses a single byte range. Returns {@code {start, end}} (inclusive), an empty array to serve
+     * the whole file (malformed or multi-range requests, which RFC 9110 allows us to ignore), or
+     * {@code null} when the range cannot be satisfied.
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return new long[0];
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return new long[0];
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                if (start >= length) return null;
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (end < start) return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -6,13 +6,26 @@ import com.medexjob.repository.UserRepository;
 import com.medexjob.entity.Job;
 import com.medexjob.repository.JobRepository;
 import com.medexjob.repository.EmployerRepository;
+import jakarta.servlet.http.HttpServletResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medexjob.service.ExportService;
+import com.medexjob.service.IdempotencyService;
+import com.medexjob.service.JobDimensionService;
+import com.medexjob.service.JobImportService;
+import com.medexjob.service.JobRangeService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*; // Contains @CrossOrigin
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,14 +37,30 @@ public class JobController {
     private final JobRepository jobRepository;
     private final EmployerRepository employerRepository;
     private final UserRepository userRepository; // Inject UserRepository
-
-    public JobController(JobRepository jobRepository, EmployerRepository employerRepository, UserRepository userRepository) {
+    private final IdempotencyService idempotencyService;
+    private final JobImportService jobImportService;
+    private final ObjectMapper objectMapper;
+    private final ExportService exportService;
+    private final JobDimensionService jobDimensionService;
+    private final JobRangeService jobRangeService;
+
+    public JobController(JobRepository jobRepository, EmployerRepository employerRepository, UserRepository userRepository,
+                         IdempotencyService idempotencyService, JobImportService jobImportService,
+                         ObjectMapper objectMapper, ExportService exportService, JobDimensionService jobDimensionService,
+                         JobRangeService jobRangeService) {
         this.jobRepository = jobRepository;
         this.employerRepository = employerRepository;
         this.userRepository = userRepository;
+        this.idempotencyService = idempotencyService;
+        this.jobImportService = jobImportService;
+        this.objectMapper = objectMapper;
+        this.exportService = exportService;
+        this.jobDimensionService = jobDimensionService;
+        this.jobRangeService = jobRangeService;
     }
 
     @GetMapping
+    @Transactional(readOnly = true) // served by a read replica when configured
     public ResponseEntity<Map<String, Object>> list(
             @RequestParam(value = "search", required = false) String search,
             @RequestParam(value = "sector", required = false) String sector,
@@ -42,9 +71,14 @@ public class JobController {
             @RequestParam(value = "dutyType", required = false) String dutyType,
             @RequestParam(value = "status", required = false) String status, // Added status parameter
             @RequestParam(value = "featured", required = false) Boolean featured,
+            @RequestParam(value = "minSalary", required = false) Integer minSalary, // rupees per month
+            @RequestParam(value = "maxSalary", required = false) Integer maxSalary,
+            @RequestParam(value = "minExperience", required = false) Double minExperience, // years
+            @RequestParam(value = "maxExperience", required = false) Double maxExperience,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "20") int size,
-            @RequestParam(value = "sort", defaultValue = "createdAt,desc") String sort
+            @RequestParam(value = "sort", defaultValue = "createdAt,desc") String sort,
+            @RequestParam(value = "view", defaultValue = "full") String view // "summary" leaves out qualification/description
     ) {
         String[] sortParts = sort.split(",");
         Sort.Direction dir = (sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc")) ? Sort.Direction.ASC : Sort.Direction.DESC;
@@ -57,21 +91,36 @@ public class JobController {
 
         Job.ExperienceLevel expLevel = (experienceLevel != null && !experienceLevel.isBlank()) ? parseExperienceLevel(experienceLevel) : null;
         Job.DutyType duty = (dutyType != null && !dutyType.isBlank()) ? parseDutyType(dutyType) : null;
+        Integer minExperienceMonths = minExperience != null ? (int) Math.round(minExperience * 12) : null;
+        Integer maxExperienceMonths = maxExperience != null ? (int) Math.round(maxExperience * 12) : null;
+        boolean ranges = minSalary != null || maxSalary != null || minExperience != null || maxExperience != null;
 
         if (Boolean.TRUE.equals(featured)) {
             result = jobRepository.findByIsFeaturedTrueAndStatus(statusFilter != null ? statusFilter : Job.JobStatus.ACTIVE, pageable);
         } else if (search != null && !search.isBlank()) {
             result = jobRepository.searchJobs(search.trim(), statusFilter, pageable);
-        } else if (sector != null || category != null || location != null || expLevel != null || speciality != null || duty != null) {
+        } else if (sector != null || category != null || location != null || expLevel != null || speciality != null || duty != null || ranges) {
             Job.JobSector s = (sector != null && !sector.isBlank()) ? parseSector(sector) : null;
             Job.JobCategory c = (category != null && !category.isBlank()) ? mapCategoryFromLabel(category) : null;
-            result = jobRepository.findJobsByCriteria(s, c, location, expLevel, speciality, duty, statusFilter, pageable);
+            Set<Integer> locationIds = jobDimensionService.matchingLocationIds(location);
+            Set<Integer> specialityIds = jobDimensionService.matchingSpecialityIds(speciality);
+            if ((locationIds != null && locationIds.isEmpty()) || (specialityIds != null && specialityIds.isEmpty())) {
+                result = Page.empty(pageable); // no known value contains the filter text
+            } else {
+                result = jobRepository.findJobsByCriteria(s, c,
+                        locationIds == null, locationIds != null ? locationIds : Set.of(),
+                        expLevel,
+                        specialityIds == null, specialityIds != null ? specialityIds : Set.of(),
+                        duty, minSalary, maxSalary, minExperienceMonths, maxExperienceMonths, statusFilter, pageable);
+            }
         } else {
             result = statusFilter != null ? jobRepository.findByStatus(statusFilter, pageable) : jobRepository.findByStatus(Job.JobStatus.ACTIVE, pageable);
         }
 
         Map<String, Object> body = new HashMap<>();
-        body.put("content", result.getContent().stream().map(this::toResponse).collect(Collectors.toList()));
+        body.put("content", "summary".equalsIgnoreCase(view)
+                ? result.getContent().stream().map(this::toSummary).collect(Collectors.toList())
+                : toResponses(result.getContent()));
         body.put("page", result.getNumber());
         body.put("size", result.getSize());
         body.put("totalElements", result.getTotalElements());
@@ -79,6 +128,21 @@ public class JobController {
         return ResponseEntity.ok(body);
     }
 
+    // Admin: Export all jobs (optionally one status) as CSV or NDJSON, streamed from the database
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void export(@RequestParam(value = "status", required = false) String status,
+                       @RequestParam(value = "format", defaultValue = "csv") String format,
+                       HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        Job.JobStatus statusFilter = (status != null && !status.equalsIgnoreCase("all")) ? parseStatus(status) : null;
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"jobs." + exportFormat.getExtension() + "\"");
+        exportService.export("jobs", () -> jobRepository.streamForExport(statusFilter),
+                this::toResponse, exportFormat, response.getOutputStream());
+    }
+
     // Diagnostics: quick check for DB connectivity and basic listing
     @GetMapping("/ping")
     public ResponseEntity<Map<String, Object>> ping() {
@@ -89,7 +153,8 @@ public class JobController {
             body.put("totalJobs", total);
             // Try fetching a small page to validate basic query and mapping
             Page<Job> page = jobRepository.findAll(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt")));
-            body.put("sample", page.getContent().stream().map(this::toResponse).collect(Collectors.toList()));
+            // Summary only: outside a transaction the lazy TEXT columns cannot be loaded
+            body.put("sample", page.getContent().stream().map(this::toSummary).collect(Collectors.toList()));
             return ResponseEntity.ok(body);
         } catch (Exception ex) {
             body.put("ok", false);
@@ -99,8 +164,9 @@ public class JobController {
         }
     }
 
-    // Jobs Meta: categories and locations
+    // Jobs Meta: categories, locations and specialities
     @GetMapping("/meta")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> meta() {
         List<String> categories = jobRepository.findDistinctCategories().stream()
                 .map(this::mapCategoryToLabel)
@@ -109,21 +175,28 @@ public class JobController {
                 .sorted()
                 .collect(Collectors.toList());
 
-        List<String> locations = jobRepository.findDistinctLocations().stream()
+        // Lookup table ids are already deduplicated (case and spacing); names come from memory
+        List<String> locations = jobRepository.findDistinctLocationIds().stream()
+                .map(jobDimensionService::locationName)
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+
+        List<String> specialities = jobRepository.findDistinctSpecialityIds().stream()
+                .map(jobDimensionService::specialityName)
                 .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .distinct()
                 .sorted()
                 .collect(Collectors.toList());
 
         Map<String, Object> body = new HashMap<>();
         body.put("categories", categories);
         body.put("locations", locations);
+        body.put("specialities", specialities);
         return ResponseEntity.ok(body);
     }
 
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> detail(@PathVariable("id") UUID id) {
         return jobRepository.findById(id)
                 .filter(j -> j.getStatus() == Job.JobStatus.ACTIVE || j.getStatus() == Job.JobStatus.DRAFT)
@@ -133,17 +206,57 @@ public class JobController {
 
     // Admin: Create Job
     @PostMapping
-    public ResponseEntity<Map<String, Object>> create(@RequestBody JobRequest req) {
-        Job job = new Job();
-        applyRequestToJob(req, job);
-        job.setStatus(parseStatus(req.status()));
-        job.setIsFeatured(Boolean.TRUE.equals(req.featured()));
-        job.setViews(Optional.ofNullable(req.views()).orElse(0));
-        job.setApplicationsCount(Optional.ofNullable(req.applications()).orElse(0));
+    public ResponseEntity<Map<String, Object>> create(@RequestBody JobRequest req,
+                                                      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                      Authentication authentication) {
+        // A client retrying after a timeout gets the job created by its first attempt
+        String caller = authentication != null ? authentication.getName() : null;
+        return idempotencyService.executeSync("jobs", idempotencyKey, caller, IdempotencyService.fingerprint(req),
+                () -> createJob(req));
+    }
+
+    private ResponseEntity<Map<String, Object>> createJob(JobRequest req) {
+        Job job = newJob(req, resolveOrCreateEmployer(req.organization(), req.type()));
         Job saved = jobRepository.save(job);
         return ResponseEntity.ok(toResponse(saved));
     }
 
+    // Admin: Bulk import jobs from NDJSON (one job object per line) or CSV (header row of JobRequest field names)
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> bulkImport(InputStream body,
+                                                          @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        JobImportService.Format format = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")
+                ? JobImportService.Format.CSV
+                : JobImportService.Format.NDJSON;
+
+        // Employers resolved once per organization for the whole import, not once per row
+        Map<String, Employer> employers = new HashMap<>();
+        return ResponseEntity.ok(jobImportService.importJobs(body, format, fields -> {
+            JobRequest req = objectMapper.convertValue(fields, JobRequest.class);
+            if (req.lastDate() == null || req.lastDate().isBlank()) {
+                throw new IllegalArgumentException("lastDate is required");
+            }
+            if (req.sector() == null) {
+                throw new IllegalArgumentException("sector is required");
+            }
+            if (mapCategoryFromLabel(Optional.ofNullable(req.category()).orElse("")) == null) {
+                throw new IllegalArgumentException("Unknown category: " + req.category());
+            }
+            String companyName = Optional.ofNullable(req.organization()).orElse("MedExJob Admin Posted");
+            Employer employer = employers.get(companyName);
+            if (employer == null) {
+                try {
+                    employer = resolveOrCreateEmployer(req.organization(), req.type());
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Could not resolve employer " + companyName + ": " + e.getMessage());
+                }
+                employers.put(companyName, employer);
+            }
+            return newJob(req, employer);
+        }));
+    }
+
     // Admin: Update Job
     @PutMapping("/{id}")
     public ResponseEntity<Map<String, Object>> update(@PathVariable("id") UUID id, @RequestBody JobRequest req) {
@@ -168,10 +281,24 @@ public class JobController {
         return ResponseEntity.noContent().build();
     }
 
+    // Helper: new (unsaved) job from a create request
+    private Job newJob(JobRequest req, Employer employer) {
+        Job job = new Job();
+        applyRequestToJob(req, job, employer);
+        if (req.status() != null) job.setStatus(parseStatus(req.status()));
+        job.setIsFeatured(Boolean.TRUE.equals(req.featured()));
+        job.setViews(Optional.ofNullable(req.views()).orElse(0));
+        job.setApplicationsCount(Optional.ofNullable(req.applications()).orElse(0));
+        return job;
+    }
+
     // Helper: map request onto entity
     private void applyRequestToJob(JobRequest req, Job job) {
         // Employer from organization + type
-        Employer employer = resolveOrCreateEmployer(req.organization(), req.type());
+        applyRequestToJob(req, job, resolveOrCreateEmployer(req.organization(), req.type()));
+    }
+
+    private void applyRequestToJob(JobRequest req, Job job, Employer employer) {
         job.setEmployer(employer);
 
         job.setTitle(req.title());
@@ -193,9 +320,15 @@ public class JobController {
         if (req.lastDate() != null && !req.lastDate().isBlank()) {
             try { job.setLastDate(java.time.LocalDate.parse(req.lastDate())); } catch (Exception ignored) {}
         }
+        job.setPublishAt(null);
+        if (req.publishAt() != null && !req.publishAt().isBlank()) {
+            try { job.setPublishAt(java.time.LocalDateTime.parse(req.publishAt())); } catch (Exception ignored) {}
+        }
         // Contact details
         job.setContactEmail(Optional.ofNullable(req.contactEmail()).orElse("noreply@medexjob.com"));
         job.setContactPhone(Optional.ofNullable(req.contactPhone()).orElse(""));
+        jobDimensionService.canonicalize(job);
+        jobRangeService.apply(job);
     }
 
     private Employer resolveOrCreateEmployer(String organization, String type) {
@@ -317,6 +450,7 @@ public class JobController {
         String salary,
         String description,
         String lastDate,
+        String publishAt, // ISO local date-time; a PENDING/DRAFT job goes live then
         String requirements,
         String benefits,
         String pdfUrl,
@@ -330,7 +464,31 @@ public class JobController {
         String type
     ) {}
 
+    // Full responses for a page of jobs; the lazy TEXT columns of all of them come in one query
+    private List<Map<String, Object>> toResponses(List<Job> jobs) {
+        if (jobs.isEmpty()) return new ArrayList<>();
+        Map<UUID, JobRepository.TextRow> texts = jobRepository.findTextByIdIn(jobs.stream().map(Job::getId).toList())
+                .stream().collect(Collectors.toMap(JobRepository.TextRow::getId, t -> t));
+        List<Map<String, Object>> out = new ArrayList<>(jobs.size());
+        for (Job j : jobs) {
+            JobRepository.TextRow t = texts.get(j.getId());
+            out.add(t != null ? toResponse(j, t.getQualification(), t.getDescription()) : toResponse(j));
+        }
+        return out;
+    }
+
+    private Map<String, Object> toSummary(Job j) {
+        Map<String, Object> m = toResponse(j, null, null);
+        m.remove("qualification");
+        m.remove("description");
+        return m;
+    }
+
     private Map<String, Object> toResponse(Job j) {
+        return toResponse(j, j.getQualification(), j.getDescription());
+    }
+
+    private Map<String, Object> toResponse(Job j, String qualification, String description) {
         Map<String, Object> m = new LinkedHashMap<>();
         m.put("id", j.getId().toString());
         m.put("title", j.getTitle());
@@ -343,16 +501,21 @@ public class JobController {
         m.put("sector", j.getSector() == Job.JobSector.GOVERNMENT ? "government" : "private");
         m.put("category", mapCategoryToLabel(j.getCategory()));
         m.put("location", j.getLocation());
-        m.put("qualification", j.getQualification());
+        m.put("qualification", qualification);
         m.put("experience", j.getExperience());
         m.put("experienceLevel", j.getExperienceLevel() != null ? j.getExperienceLevel().name().toLowerCase() : null);
         m.put("speciality", j.getSpeciality());
         m.put("dutyType", j.getDutyType() != null ? j.getDutyType().name().toLowerCase() : null);
         m.put("numberOfPosts", j.getNumberOfPosts());
         m.put("salary", j.getSalaryRange());
-        m.put("description", j.getDescription());
+        m.put("salaryMin", j.getSalaryMin());
+        m.put("salaryMax", j.getSalaryMax());
+        m.put("experienceMinMonths", j.getExperienceMinMonths());
+        m.put("experienceMaxMonths", j.getExperienceMaxMonths());
+        m.put("description", description);
         m.put("lastDate", j.getLastDate() != null ? j.getLastDate().toString() : null);
         m.put("postedDate", j.getCreatedAt() != null ? j.getCreatedAt().toString() : null);
+        m.put("publishAt", j.getPublishAt() != null ? j.getPublishAt().toString() : null);
         m.put("pdfUrl", j.getPdfUrl());
         m.put("applyLink", j.getApplyLink());
         m.put("status", j.getStatus().name().toLowerCase());
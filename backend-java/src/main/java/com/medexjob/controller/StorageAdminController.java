@@ -0,0 +1,27 @@
+package com.medexjob.controller;
+
+import com.medexjob.service.StorageGarbageCollector;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/storage")
+@CrossOrigin(origins = "http://localhost:3000")
+@PreAuthorize("hasRole('ADMIN')")
+public class StorageAdminController {
+
+    private final StorageGarbageCollector storageGarbageCollector;
+
+    public StorageAdminController(StorageGarbageCollector storageGarbageCollector) {
+        this.storageGarbageCollector = storageGarbageCollector;
+    }
+
+    // Run the orphaned-blob collector now; dryRun=true only reports what would be reclaimed
+    @PostMapping("/gc")
+    public ResponseEntity<StorageGarbageCollector.Report> collectGarbage(
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun
+    ) {
+        return ResponseEntity.ok(storageGarbageCollector.collect(dryRun));
+    }
+}
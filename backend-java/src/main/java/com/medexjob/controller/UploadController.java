@@ -0,0 +1,107 @@
+package com.medexjob.controller;
+
+import com.medexjob.entity.UploadSession;
+import com.medexjob.service.ChunkedUploadService;
+import com.medexjob.storage.UploadIoStage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resumable upload protocol for resumes and employer documents:
+ * <ol>
+ *   <li>{@code POST /api/uploads} with {@code purpose}, {@code fileName}, {@code contentType},
+ *       {@code totalSize} and {@code sha256} (hex SHA-256 of the whole file, checked on complete)</li>
+ *   <li>{@code PUT /api/uploads/{id}?offset=n} with the raw chunk bytes as the body; after a dropped
+ *       connection, {@code GET /api/uploads/{id}} tells where to resume</li>
+ *   <li>{@code POST /api/uploads/{id}/complete}, then pass the id as {@code resumeUploadId} when
+ *       applying or as {@code uploadId} to {@code POST /api/employers/{id}/documents}</li>
+ * </ol>
+ * All requests of one upload must reach the server that created it (session affinity); see
+ * {@link ChunkedUploadService}.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@CrossOrigin(origins = "http://localhost:3000")
+public class UploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final UploadIoStage uploadIoStage;
+
+    public UploadController(ChunkedUploadService chunkedUploadService, UploadIoStage uploadIoStage) {
+        this.chunkedUploadService = chunkedUploadService;
+        this.uploadIoStage = uploadIoStage;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> init(@RequestBody Map<String, Object> request,
+                                                    Authentication authentication) throws IOException {
+        UploadSession.UploadPurpose purpose;
+        long totalSize;
+        try {
+            purpose = UploadSession.UploadPurpose.valueOf(String.valueOf(request.get("purpose")).toUpperCase());
+            totalSize = Long.parseLong(String.valueOf(request.get("totalSize")));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "purpose (resume|employer_document) and totalSize are required"));
+        }
+
+        UploadSession session = chunkedUploadService.init(purpose, authentication.getName(),
+                (String) request.get("fileName"), (String) request.get("contentType"),
+                totalSize, (String) request.get("sha256"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(session));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable("id") UUID id, Authentication authentication) {
+        return ResponseEntity.ok(toResponse(chunkedUploadService.status(id, authentication.getName())));
+    }
+
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadChunk(@PathVariable("id") UUID id,
+                                                                              @RequestParam("offset") long offset,
+                                                                              HttpServletRequest request,
+                                                                              Authentication authentication) {
+        String owner = authentication.getName();
+        // Without a Content-Length, budget for the largest chunk the service accepts
+        long length = request.getContentLengthLong();
+        long bytes = length >= 0 ? length : chunkedUploadService.getMaxChunkSize();
+        return uploadIoStage.submit(bytes, () -> {
+            try (InputStream body = request.getInputStream()) {
+                return chunkedUploadService.appendChunk(id, owner, offset, body);
+            }
+        }).thenApply(session -> ResponseEntity.ok(toResponse(session)));
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Map<String, Object>> complete(@PathVariable("id") UUID id,
+                                                        Authentication authentication) throws IOException {
+        return ResponseEntity.ok(toResponse(chunkedUploadService.complete(id, authentication.getName())));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abort(@PathVariable("id") UUID id, Authentication authentication) throws IOException {
+        chunkedUploadService.abort(id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    private Map<String, Object> toResponse(UploadSession session) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", session.getId().toString());
+        m.put("purpose", session.getPurpose().name().toLowerCase());
+        m.put("fileName", session.getFileName());
+        m.put("totalSize", session.getTotalSize());
+        m.put("offset", session.getReceivedBytes());
+        m.put("maxChunkSize", chunkedUploadService.getMaxChunkSize());
+        m.put("status", session.getStatus().name().toLowerCase());
+        m.put("sha256", session.getSha256());
+        m.put("updatedAt", session.getUpdatedAt() != null ? session.getUpdatedAt().toString() : null);
+        return m;
+    }
+}
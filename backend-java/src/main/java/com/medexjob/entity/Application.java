@@ -1,5 +1,6 @@
 package com.medexjob.entity;
 
+import com.medexjob.util.UuidV7;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -7,20 +8,38 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications",
+       uniqueConstraints = {
+           // One application per candidate and job; also serves the duplicate-apply check
+           @UniqueConstraint(name = "uk_applications_job_email", columnNames = {"job_id", "candidate_email"})
+       },
+       indexes = {
+           @Index(name = "ix_applications_resume_url", columnList = "resume_url"),
+           @Index(name = "ix_applications_job_status_applied", columnList = "job_id, status, applied_date"),
+           @Index(name = "ix_applications_job_applied", columnList = "job_id, applied_date"),
+           @Index(name = "ix_applications_candidate_status_applied", columnList = "candidate_id, status, applied_date"),
+           @Index(name = "ix_applications_candidate_applied", columnList = "candidate_id, applied_date"),
+           @Index(name = "ix_applications_status_applied", columnList = "status, applied_date"),
+           @Index(name = "ix_applications_applied_date", columnList = "applied_date")
+       })
 @EntityListeners(AuditingEntityListener.class)
-public class Application {
+public class Application implements Persistable<UUID> {
 
+    // Assigned (a time-ordered UUIDv7) rather than generated, so an intake-log record replayed after a crash keeps its id
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // Lets save() insert directly instead of merging (which would SELECT first for an assigned id)
+    @Transient
+    private boolean persisted;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
     private Job job;
@@ -77,7 +96,26 @@ public class Application {
         this.candidatePhone = candidatePhone;
     }
 
+    @PrePersist
+    void assignId() {
+        if (id == null) {
+            id = UuidV7.generate();
+        }
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
     // Getters and Setters
+    @Override
     public UUID getId() {
         return id;
     }
@@ -0,0 +1,46 @@
+package com.medexjob.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One entry of a lookup table for a free-text job attribute ({@link Location}, {@link Speciality}).
+ * {@code normalizedName} (trimmed, single-spaced, lower case) is unique; {@code name} is the
+ * spelling shown to users, the first one seen for that value.
+ */
+@MappedSuperclass
+public abstract class DimensionValue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
+    }
+}
@@ -0,0 +1,239 @@
+package com.medexjob.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Post-processing state and results for one stored blob (resume or verification document).
+ * Content-addressed resumes shared by many applications are processed once, keyed by
+ * {@code blobKey}. Rows double as the durable work queue: workers claim {@code PENDING} rows whose
+ * {@code nextAttemptAt} has passed and hold a lease until {@code leaseExpiresAt}.
+ */
+@Entity
+@Table(name = "document_processing_jobs",
+       indexes = {
+           @Index(name = "ux_document_processing_jobs_blob_key", columnList = "blob_key", unique = true),
+           @Index(name = "ix_document_processing_jobs_due", columnList = "status, next_attempt_at"),
+           @Index(name = "ix_document_processing_jobs_thumbnail", columnList = "thumbnail_key")
+       })
+@EntityListeners(AuditingEntityListener.class)
+public class DocumentProcessingJob {
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "blob_key", length = 500, nullable = false)
+    private String blobKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false)
+    private DocumentSource source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ProcessingStatus status = ProcessingStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // ----- Results -----
+    @Column(name = "detected_mime", length = 100)
+    private String detectedMime;
+
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    @Column(name = "thumbnail_key", length = 500)
+    private String thumbnailKey;
+
+    @Column(name = "extracted_text", columnDefinition = "LONGTEXT")
+    private String extractedText;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public DocumentProcessingJob() {}
+
+    public DocumentProcessingJob(String blobKey, DocumentSource source) {
+        this.blobKey = blobKey;
+        this.source = source;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getBlobKey() {
+        return blobKey;
+    }
+
+    public void setBlobKey(String blobKey) {
+        this.blobKey = blobKey;
+    }
+
+    public DocumentSource getSource() {
+        return source;
+    }
+
+    public void setSource(DocumentSource source) {
+        this.source = source;
+    }
+
+    public ProcessingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProcessingStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getDetectedMime() {
+        return detectedMime;
+    }
+
+    public void setDetectedMime(String detectedMime) {
+        this.detectedMime = detectedMime;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(Integer pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public String getThumbnailKey() {
+        return thumbnailKey;
+    }
+
+    public void setThumbnailKey(String thumbnailKey) {
+        this.thumbnailKey = thumbnailKey;
+    }
+
+    public String getExtractedText() {
+        return extractedText;
+    }
+
+    public void setExtractedText(String extractedText) {
+        this.extractedText = extractedText;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Enum for where the document came from
+    public enum DocumentSource {
+        RESUME, EMPLOYER_DOCUMENT
+    }
+
+    // Enum for Processing Status
+    public enum ProcessingStatus {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+}
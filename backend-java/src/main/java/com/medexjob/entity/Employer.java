@@ -3,6 +3,8 @@ package com.medexjob.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,12 +13,19 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "employers")
+@Table(name = "employers",
+       indexes = {
+           @Index(name = "ix_employers_company_name", columnList = "company_name"),
+           @Index(name = "ix_employers_verification_created", columnList = "verification_status, created_at"),
+           @Index(name = "ix_employers_created_at", columnList = "created_at")
+       })
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // second-level cache region: see ehcache.xml
 public class Employer {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     
     @OneToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,18 @@
+package com.medexjob.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated {@code UUID} id as a time-ordered UUIDv7 (see {@link com.medexjob.util.UuidV7})
+ * instead of a random v4, so that inserts into the {@code BINARY(16)} primary key stay sequential.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedUuidV7 {
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.LazyGroup;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,12 +15,31 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs",
+       indexes = {
+           @Index(name = "ix_jobs_status_created_at", columnList = "status, created_at"),
+           @Index(name = "ix_jobs_status_last_date", columnList = "status, last_date"),
+           @Index(name = "ix_jobs_status_publish_at", columnList = "status, publish_at"),
+           @Index(name = "ix_jobs_status_featured_created_at", columnList = "status, is_featured, created_at"),
+           @Index(name = "ix_jobs_status_views", columnList = "status, views"),
+           @Index(name = "ix_jobs_status_applications_count", columnList = "status, applications_count"),
+           @Index(name = "ix_jobs_sector_created_at", columnList = "sector, created_at"),
+           @Index(name = "ix_jobs_category_created_at", columnList = "category, created_at"),
+           @Index(name = "ix_jobs_location_id_status_created_at", columnList = "location_id, status, created_at"),
+           @Index(name = "ix_jobs_speciality_id_status_created_at", columnList = "speciality_id, status, created_at"),
+           @Index(name = "ix_jobs_status_salary_max", columnList = "status, salary_max"),
+           @Index(name = "ix_jobs_status_salary_min", columnList = "status, salary_min"),
+           @Index(name = "ix_jobs_status_experience_min_months", columnList = "status, experience_min_months"),
+           @Index(name = "ix_jobs_status_experience_max_months", columnList = "status, experience_max_months"),
+           @Index(name = "ix_jobs_created_at", columnList = "created_at")
+       })
 @EntityListeners(AuditingEntityListener.class)
+// The TEXT columns are one lazy group: plain loads (lists, analytics) leave them out, and the first
+// access to any of them loads all four in a single select. Needs the build's bytecode enhancement
 public class Job {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,6 +52,8 @@ public class Job {
     private String title;
     
     @NotBlank
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "description", columnDefinition = "TEXT", nullable = false)
     private String description;
     
@@ -49,6 +71,8 @@ public class Job {
     private String location;
     
     @NotBlank
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "qualification", columnDefinition = "TEXT", nullable = false)
     private String qualification;
     
@@ -64,6 +88,13 @@ public class Job {
     @Column(name = "speciality")
     private String speciality;
 
+    // Lookup table ids of location and speciality, set by JobDimensionService on write
+    @Column(name = "location_id")
+    private Integer locationId;
+
+    @Column(name = "speciality_id")
+    private Integer specialityId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "duty_type")
     private DutyType dutyType;
@@ -74,10 +105,31 @@ public class Job {
     @Size(max = 100)
     @Column(name = "salary_range")
     private String salaryRange;
+
+    // Parsed from salaryRange and experience by JobRangeService (util.RangeParser): rupees per month
+    // and months, both bounds or neither. rangeParserVersion is the parser version that wrote them
+    @Column(name = "salary_min")
+    private Integer salaryMin;
+
+    @Column(name = "salary_max")
+    private Integer salaryMax;
+
+    @Column(name = "experience_min_months")
+    private Integer experienceMinMonths;
+
+    @Column(name = "experience_max_months")
+    private Integer experienceMaxMonths;
+
+    @Column(name = "range_parser_version")
+    private Integer rangeParserVersion;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "requirements", columnDefinition = "TEXT")
     private String requirements;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "benefits", columnDefinition = "TEXT")
     private String benefits;
     
@@ -119,6 +171,10 @@ public class Job {
     
     @Column(name = "approved_at")
     private LocalDateTime approvedAt;
+
+    // A PENDING or DRAFT job becomes ACTIVE at this time (JobLifecycleService)
+    @Column(name = "publish_at")
+    private LocalDateTime publishAt;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
@@ -252,6 +308,22 @@ public class Job {
         this.speciality = speciality;
     }
 
+    public Integer getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(Integer locationId) {
+        this.locationId = locationId;
+    }
+
+    public Integer getSpecialityId() {
+        return specialityId;
+    }
+
+    public void setSpecialityId(Integer specialityId) {
+        this.specialityId = specialityId;
+    }
+
     public DutyType getDutyType() {
         return dutyType;
     }
@@ -275,6 +347,46 @@ public class Job {
     public void setSalaryRange(String salaryRange) {
         this.salaryRange = salaryRange;
     }
+
+    public Integer getSalaryMin() {
+        return salaryMin;
+    }
+
+    public void setSalaryMin(Integer salaryMin) {
+        this.salaryMin = salaryMin;
+    }
+
+    public Integer getSalaryMax() {
+        return salaryMax;
+    }
+
+    public void setSalaryMax(Integer salaryMax) {
+        this.salaryMax = salaryMax;
+    }
+
+    public Integer getExperienceMinMonths() {
+        return experienceMinMonths;
+    }
+
+    public void setExperienceMinMonths(Integer experienceMinMonths) {
+        this.experienceMinMonths = experienceMinMonths;
+    }
+
+    public Integer getExperienceMaxMonths() {
+        return experienceMaxMonths;
+    }
+
+    public void setExperienceMaxMonths(Integer experienceMaxMonths) {
+        this.experienceMaxMonths = experienceMaxMonths;
+    }
+
+    public Integer getRangeParserVersion() {
+        return rangeParserVersion;
+    }
+
+    public void setRangeParserVersion(Integer rangeParserVersion) {
+        this.rangeParserVersion = rangeParserVersion;
+    }
     
     public String getRequirements() {
         return requirements;
@@ -371,6 +483,14 @@ public class Job {
     public void setApprovedAt(LocalDateTime approvedAt) {
         this.approvedAt = approvedAt;
     }
+
+    public LocalDateTime getPublishAt() {
+        return publishAt;
+    }
+
+    public void setPublishAt(LocalDateTime publishAt) {
+        this.publishAt = publishAt;
+    }
     
     public User getApprovedBy() {
         return approvedBy;
@@ -0,0 +1,11 @@
+package com.medexjob.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "locations",
+       uniqueConstraints = @UniqueConstraint(name = "ux_locations_normalized_name", columnNames = "normalized_name"))
+public class Location extends DimensionValue {
+}
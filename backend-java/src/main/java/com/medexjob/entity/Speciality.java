@@ -0,0 +1,11 @@
+package com.medexjob.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "specialities",
+       uniqueConstraints = @UniqueConstraint(name = "ux_specialities_normalized_name", columnNames = "normalized_name"))
+public class Speciality extends DimensionValue {
+}
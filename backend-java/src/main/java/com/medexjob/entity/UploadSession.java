@@ -0,0 +1,210 @@
+package com.medexjob.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resumable upload in progress. Chunks are appended to a temp file on the local disk of
+ * {@code node}; {@code receivedBytes} is the offset the client resumes from. {@code version}
+ * rejects two chunks racing for the same offset.
+ */
+@Entity
+@Table(name = "upload_sessions",
+       indexes = {
+           @Index(name = "ix_upload_sessions_updated_at", columnList = "updated_at")
+       })
+@EntityListeners(AuditingEntityListener.class)
+public class UploadSession {
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "purpose", nullable = false)
+    private UploadPurpose purpose;
+
+    @Column(name = "owner_email", length = 100, nullable = false)
+    private String ownerEmail;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes = 0L;
+
+    // Checksum announced by the client at init; verified on complete
+    @Column(name = "expected_sha256", length = 64)
+    private String expectedSha256;
+
+    // Checksum of the assembled file, set on complete
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    // Node whose disk holds the temp file; null for sessions created before this was recorded
+    @Column(name = "node", length = 100)
+    private String node;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private UploadStatus status = UploadStatus.IN_PROGRESS;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public UploadSession() {}
+
+    public UploadSession(UploadPurpose purpose, String ownerEmail, String fileName, String contentType,
+                         long totalSize, String expectedSha256) {
+        this.purpose = purpose;
+        this.ownerEmail = ownerEmail;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+        this.expectedSha256 = expectedSha256;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UploadPurpose getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(UploadPurpose purpose) {
+        this.purpose = purpose;
+    }
+
+    public String getOwnerEmail() {
+        return ownerEmail;
+    }
+
+    public void setOwnerEmail(String ownerEmail) {
+        this.ownerEmail = ownerEmail;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public Long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(Long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public String getExpectedSha256() {
+        return expectedSha256;
+    }
+
+    public void setExpectedSha256(String expectedSha256) {
+        this.expectedSha256 = expectedSha256;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public UploadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UploadStatus status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Enum for what the upload will be linked to
+    public enum UploadPurpose {
+        RESUME, EMPLOYER_DOCUMENT
+    }
+
+    // Enum for Upload Status
+    public enum UploadStatus {
+        IN_PROGRESS, COMPLETED
+    }
+}
@@ -1,15 +1,20 @@
 package com.medexjob.repository;
 
 import com.medexjob.entity.Application;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, UUID> {
@@ -38,13 +43,82 @@ public interface ApplicationRepository extends JpaRepository<Application, UUID>
     // Count applications by job and status
     long countByJobIdAndStatus(UUID jobId, Application.ApplicationStatus status);
 
+    // Does this candidate own an application with the given resume (download authorization)
+    boolean existsByResumeUrlAndCandidateEmailIgnoreCase(String resumeUrl, String candidateEmail);
+
+    boolean existsByResumeUrl(String resumeUrl);
+
+    // Has this resume been sent to one of the employer's (by account email) jobs (download authorization)
+    boolean existsByResumeUrlAndJobEmployerUserEmail(String resumeUrl, String employerEmail);
+
+    // Same for the page-1 thumbnail of the resume, via the processing job that rendered it
+    @Query("SELECT COUNT(a) > 0 FROM Application a, DocumentProcessingJob d " +
+           "WHERE d.thumbnailKey = :thumbnailKey AND a.resumeUrl = CONCAT('/uploads/', d.blobKey) " +
+           "AND a.job.employer.user.email = :employerEmail")
+    boolean existsThumbnailForEmployer(@Param("thumbnailKey") String thumbnailKey,
+                                       @Param("employerEmail") String employerEmail);
+
+    // Served by uk_applications_job_email; the column collation makes the email comparison case-insensitive
+    boolean existsByJobIdAndCandidateEmail(UUID jobId, String candidateEmail);
+
+    // Keyset page of (job, email) pairs for the duplicate-apply filter
+    @Query("SELECT a.id AS id, a.job.id AS jobId, a.candidateEmail AS candidateEmail " +
+           "FROM Application a WHERE a.id > :after ORDER BY a.id")
+    List<GuardRow> findGuardRowsAfter(@Param("after") UUID after, Pageable pageable);
+
+    // Which of these ids are already stored (idempotent replay of the intake log)
+    @Query("SELECT a.id FROM Application a WHERE a.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Keyset page of distinct resume URLs (storage GC mark phase; uses ix_applications_resume_url)
+    @Query("SELECT DISTINCT a.resumeUrl FROM Application a WHERE a.resumeUrl > :after ORDER BY a.resumeUrl")
+    List<String> findResumeUrlsAfter(@Param("after") String after, Pageable pageable);
+
+    // Minimal rows for building the resume search index
+    @Query("SELECT a.id AS id, a.job.id AS jobId, a.candidateName AS candidateName, a.resumeUrl AS resumeUrl " +
+           "FROM Application a WHERE a.job.id = :jobId")
+    List<IndexRow> findIndexRowsByJobId(@Param("jobId") UUID jobId);
+
+    @Query("SELECT a.id AS id, a.job.id AS jobId, a.candidateName AS candidateName, a.resumeUrl AS resumeUrl " +
+           "FROM Application a WHERE a.resumeUrl = :resumeUrl")
+    List<IndexRow> findIndexRowsByResumeUrl(@Param("resumeUrl") String resumeUrl);
+
+    // Hydrate search hits with what the response needs, without lazy loading
+    @Query("SELECT a FROM Application a JOIN FETCH a.job j LEFT JOIN FETCH j.employer WHERE a.id IN :ids")
+    List<Application> findAllWithJobByIdIn(@Param("ids") Collection<UUID> ids);
+
     // Find applications with job details for admin view
     @Query("SELECT a FROM Application a JOIN FETCH a.job WHERE a.job.id = :jobId")
     List<Application> findByJobIdWithJobDetails(@Param("jobId") UUID jobId);
 
+    // Forward-only cursor for the streaming export. Integer.MIN_VALUE makes MySQL Connector/J stream
+    // rows one at a time instead of buffering the whole result; close the stream when done
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Application a JOIN FETCH a.job j LEFT JOIN FETCH j.employer WHERE " +
+           "(:jobId IS NULL OR j.id = :jobId) AND (:status IS NULL OR a.status = :status) " +
+           "ORDER BY a.appliedDate")
+    Stream<Application> streamForExport(@Param("jobId") UUID jobId,
+                                        @Param("status") Application.ApplicationStatus status);
+
     // Search applications by candidate name or email
     @Query("SELECT a FROM Application a WHERE " +
            "LOWER(a.candidateName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(a.candidateEmail) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Application> searchApplications(@Param("keyword") String keyword, Pageable pageable);
+
+    interface GuardRow {
+        UUID getId();
+        UUID getJobId();
+        String getCandidateEmail();
+    }
+
+    interface IndexRow {
+        UUID getId();
+        UUID getJobId();
+        String getCandidateName();
+        String getResumeUrl();
+    }
 }
@@ -0,0 +1,103 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.DocumentProcessingJob;
+import com.medexjob.entity.DocumentProcessingJob.ProcessingStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DocumentProcessingJobRepository extends JpaRepository<DocumentProcessingJob, UUID> {
+
+    boolean existsByBlobKey(String blobKey);
+
+    Optional<DocumentProcessingJob> findByBlobKey(String blobKey);
+
+    boolean existsByThumbnailKey(String thumbnailKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DocumentProcessingJob j WHERE j.blobKey = :blobKey")
+    int deleteByBlobKey(@Param("blobKey") String blobKey);
+
+    // Keyset page of thumbnail keys (storage GC mark phase)
+    @Query("SELECT j.thumbnailKey FROM DocumentProcessingJob j WHERE j.thumbnailKey > :after ORDER BY j.thumbnailKey")
+    List<String> findThumbnailKeysAfter(@Param("after") String after, Pageable pageable);
+
+    // Extracted text of processed documents, by blob key (search indexing)
+    @Query("SELECT j.blobKey AS blobKey, j.extractedText AS extractedText FROM DocumentProcessingJob j " +
+           "WHERE j.blobKey IN :blobKeys AND j.status = :status")
+    List<ExtractedText> findExtractedText(@Param("blobKeys") Collection<String> blobKeys,
+                                          @Param("status") ProcessingStatus status);
+
+    // Jobs in a status whose (retry) time has come, oldest first; served by ix_document_processing_jobs_due
+    @Query("SELECT j.id FROM DocumentProcessingJob j WHERE j.status = :status AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt")
+    List<UUID> findDueIds(@Param("status") ProcessingStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional status transition: exactly one worker (on any node) wins the claim
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentProcessingJob j SET j.status = :to, j.attempts = j.attempts + 1, j.leaseExpiresAt = :leaseUntil " +
+           "WHERE j.id = :id AND j.status = :from")
+    int claim(@Param("id") UUID id, @Param("from") ProcessingStatus from, @Param("to") ProcessingStatus to,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Hand a claimed job back without counting the attempt (the local queue was full)
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentProcessingJob j SET j.status = :to, j.attempts = j.attempts - 1, j.leaseExpiresAt = NULL " +
+           "WHERE j.id = :id AND j.status = :from")
+    int unclaim(@Param("id") UUID id, @Param("from") ProcessingStatus from, @Param("to") ProcessingStatus to);
+
+    // Result of a run, written only while the job is still RUNNING: a job deleted meanwhile (its blob's
+    // last reference released) or re-queued after lease expiry is left alone
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentProcessingJob j SET j.status = :to, j.detectedMime = :detectedMime, j.sha256 = :sha256, " +
+           "j.sizeBytes = :sizeBytes, j.pageCount = :pageCount, j.thumbnailKey = :thumbnailKey, " +
+           "j.extractedText = :extractedText, j.processedAt = :now, j.updatedAt = :now, " +
+           "j.leaseExpiresAt = NULL, j.lastError = NULL " +
+           "WHERE j.id = :id AND j.status = :from")
+    int completeRun(@Param("id") UUID id, @Param("from") ProcessingStatus from, @Param("to") ProcessingStatus to,
+                    @Param("detectedMime") String detectedMime, @Param("sha256") String sha256,
+                    @Param("sizeBytes") Long sizeBytes, @Param("pageCount") Integer pageCount,
+                    @Param("thumbnailKey") String thumbnailKey, @Param("extractedText") String extractedText,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentProcessingJob j SET j.status = :to, j.lastError = :lastError, " +
+           "j.nextAttemptAt = :nextAttemptAt, j.updatedAt = :now, j.leaseExpiresAt = NULL " +
+           "WHERE j.id = :id AND j.status = :from")
+    int failRun(@Param("id") UUID id, @Param("from") ProcessingStatus from, @Param("to") ProcessingStatus to,
+                @Param("lastError") String lastError, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("now") LocalDateTime now);
+
+    // Jobs whose worker died mid-run (node crash or restart) go back to the queue, unless they have
+    // used up their attempts: a document that kills or hangs the worker would otherwise loop forever
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentProcessingJob j SET " +
+           "j.status = CASE WHEN j.attempts >= :maxAttempts THEN :failed ELSE :to END, " +
+           "j.lastError = CASE WHEN j.attempts >= :maxAttempts THEN 'Lease expired on the last attempt' ELSE j.lastError END, " +
+           "j.leaseExpiresAt = NULL " +
+           "WHERE j.status = :from AND j.leaseExpiresAt < :now")
+    int recoverExpiredLeases(@Param("from") ProcessingStatus from, @Param("to") ProcessingStatus to,
+                             @Param("failed") ProcessingStatus failed, @Param("maxAttempts") int maxAttempts,
+                             @Param("now") LocalDateTime now);
+
+    interface ExtractedText {
+        String getBlobKey();
+        String getExtractedText();
+    }
+}
@@ -0,0 +1,22 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.EmployerDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmployerDocumentRepository extends JpaRepository<EmployerDocument, UUID> {
+    List<EmployerDocument> findByEmployerIdOrderByCreatedAtDesc(UUID employerId);
+
+    boolean existsByBlobKey(String blobKey);
+
+    // Keyset page of blob keys (storage GC mark phase)
+    @Query("SELECT DISTINCT d.blobKey FROM EmployerDocument d WHERE d.blobKey > :after ORDER BY d.blobKey")
+    List<String> findBlobKeysAfter(@Param("after") String after, Pageable pageable);
+}
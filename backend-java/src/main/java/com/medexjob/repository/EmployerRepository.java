@@ -1,7 +1,10 @@
 package com.medexjob.repository;
 
 import com.medexjob.entity.Employer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
@@ -9,5 +12,13 @@ import java.util.Optional;
 
 @Repository
 public interface EmployerRepository extends JpaRepository<Employer, UUID> {
+    // Query cache: job creation and bulk import resolve the employer by name on every call
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "employers-by-name")
+    })
     Optional<Employer> findByCompanyName(String companyName);
+
+    // Is the employer owned by the user with this email (document download authorization)
+    boolean existsByIdAndUserEmail(UUID id, String email);
 }
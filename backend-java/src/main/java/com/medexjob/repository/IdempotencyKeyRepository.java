@@ -0,0 +1,42 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // Claim a key; returns 0 when another request already holds it (one round trip, no SELECT first)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (key_hash, scope, fingerprint, status, created_at, expires_at) " +
+                   "VALUES (:keyHash, :scope, :fingerprint, 'IN_PROGRESS', NOW(), :expiresAt)", nativeQuery = true)
+    int claim(@Param("keyHash") String keyHash, @Param("scope") String scope,
+              @Param("fingerprint") String fingerprint, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKey k SET k.status = com.medexjob.entity.IdempotencyKey.KeyStatus.COMPLETED, " +
+           "k.responseStatus = :responseStatus, k.responseBody = :responseBody, k.expiresAt = :expiresAt " +
+           "WHERE k.keyHash = :keyHash")
+    int complete(@Param("keyHash") String keyHash, @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.keyHash = :keyHash")
+    int release(@Param("keyHash") String keyHash);
+
+    // Delete one batch of expired keys (kept small so the sweeper never holds long locks)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -1,19 +1,30 @@
 package com.medexjob.repository;
 
 import com.medexjob.entity.Job;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, UUID> {
+
+    // External form of LockMode.UPGRADE_SKIPLOCKED (SELECT ... FOR UPDATE SKIP LOCKED) for the native lock-mode hint
+    String UPGRADE_SKIPLOCKED = "upgrade-skiplocked";
     
     // Find jobs by status
     Page<Job> findByStatus(Job.JobStatus status, Pageable pageable);
@@ -42,21 +53,32 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
            "AND (:status IS NULL OR j.status = :status)")
     Page<Job> searchJobs(@Param("keyword") String keyword, @Param("status") Job.JobStatus status, Pageable pageable);
     
-    // Find jobs by multiple criteria
+    // Find jobs by multiple criteria. Location and speciality match by lookup table id
+    // (JobDimensionService turns the text filters into id sets); the any* flags disable those filters
     @Query("SELECT j FROM Job j WHERE " +
            "(:sector IS NULL OR j.sector = :sector) AND " +
            "(:category IS NULL OR j.category = :category) AND " +
-           "(:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+           "(:anyLocation = true OR j.locationId IN :locationIds) AND " +
            "(:experienceLevel IS NULL OR j.experienceLevel = :experienceLevel) AND " +
-           "(:speciality IS NULL OR LOWER(j.speciality) LIKE LOWER(CONCAT('%', :speciality, '%'))) AND " +
+           "(:anySpeciality = true OR j.specialityId IN :specialityIds) AND " +
            "(:dutyType IS NULL OR j.dutyType = :dutyType) AND " +
+           "(:minSalary IS NULL OR j.salaryMax >= :minSalary) AND " +
+           "(:maxSalary IS NULL OR j.salaryMin <= :maxSalary) AND " +
+           "(:minExperience IS NULL OR j.experienceMaxMonths >= :minExperience) AND " +
+           "(:maxExperience IS NULL OR j.experienceMinMonths <= :maxExperience) AND " +
            "(:status IS NULL OR j.status = :status)")
     Page<Job> findJobsByCriteria(@Param("sector") Job.JobSector sector,
                                  @Param("category") Job.JobCategory category,
-                                 @Param("location") String location,
+                                 @Param("anyLocation") boolean anyLocation,
+                                 @Param("locationIds") Collection<Integer> locationIds,
                                  @Param("experienceLevel") Job.ExperienceLevel experienceLevel,
-                                 @Param("speciality") String speciality,
+                                 @Param("anySpeciality") boolean anySpeciality,
+                                 @Param("specialityIds") Collection<Integer> specialityIds,
                                  @Param("dutyType") Job.DutyType dutyType,
+                                 @Param("minSalary") Integer minSalary,
+                                 @Param("maxSalary") Integer maxSalary,
+                                 @Param("minExperience") Integer minExperience,
+                                 @Param("maxExperience") Integer maxExperience,
                                  @Param("status") Job.JobStatus status,
                                  Pageable pageable);
     
@@ -80,21 +102,97 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
     @Query("SELECT j FROM Job j WHERE j.status = :status ORDER BY j.applicationsCount DESC")
     Page<Job> findJobsWithMostApplications(@Param("status") Job.JobStatus status, Pageable pageable);
 
+    // Forward-only cursor for the streaming export (see ApplicationRepository.streamForExport)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    // The entity graph also loads the lazy TEXT group: nothing may be lazy-loaded while the cursor is open
+    @EntityGraph(attributePaths = {"employer", "qualification", "description"})
+    @Query("SELECT j FROM Job j WHERE (:status IS NULL OR j.status = :status) ORDER BY j.createdAt")
+    Stream<Job> streamForExport(@Param("status") Job.JobStatus status);
+
+    // The lazily loaded TEXT columns a listing page shows, for all its jobs in one query
+    @Query("SELECT j.id AS id, j.qualification AS qualification, j.description AS description " +
+           "FROM Job j WHERE j.id IN :ids")
+    List<TextRow> findTextByIdIn(@Param("ids") Collection<UUID> ids);
+
     // Distinct categories (for meta)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "jobs-meta")
+    })
     @Query("SELECT DISTINCT j.category FROM Job j WHERE j.category IS NOT NULL")
     List<Job.JobCategory> findDistinctCategories();
 
-    // Distinct locations (for meta)
-    @Query("SELECT DISTINCT j.location FROM Job j WHERE j.location IS NOT NULL AND j.location <> ''")
-    List<String> findDistinctLocations();
-}
+    // Distinct locations and specialities in use (for meta), as lookup table ids
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "jobs-meta")
+    })
+    @Query("SELECT DISTINCT j.locationId FROM Job j WHERE j.locationId IS NOT NULL")
+    List<Integer> findDistinctLocationIds();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "jobs-meta")
+    })
+    @Query("SELECT DISTINCT j.specialityId FROM Job j WHERE j.specialityId IS NOT NULL")
+    List<Integer> findDistinctSpecialityIds();
 
+    // Jobs posted by the employer account with this email (search scoping)
+    @Query("SELECT j.id FROM Job j WHERE j.employer.user.email = :email")
+    List<UUID> findIdsByEmployerUserEmail(@Param("email") String email);
 
+    boolean existsByIdAndEmployerUserEmail(UUID id, String email);
 
+    // Single-statement counter bump (application intake drains many applications per job at once)
+    @Modifying
+    @Query("UPDATE Job j SET j.applicationsCount = j.applicationsCount + :delta WHERE j.id = :id")
+    int incrementApplicationsCount(@Param("id") UUID id, @Param("delta") int delta);
 
+    // Locked batches for JobLifecycleService; SKIP LOCKED lets every node run it without overlap.
+    // No @Lock: Spring Data would apply PESSIMISTIC_WRITE after the hint and drop SKIP LOCKED
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_LOCK_MODE, value = UPGRADE_SKIPLOCKED))
+    @Query("SELECT j.id FROM Job j WHERE j.status = :status AND j.lastDate < :today")
+    List<UUID> lockExpiredIds(@Param("status") Job.JobStatus status, @Param("today") LocalDate today, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_LOCK_MODE, value = UPGRADE_SKIPLOCKED))
+    @Query("SELECT j.id FROM Job j WHERE j.status IN :statuses AND j.publishAt <= :now AND j.lastDate >= :today")
+    List<UUID> lockDueForPublishingIds(@Param("statuses") Collection<Job.JobStatus> statuses,
+                                       @Param("now") LocalDateTime now, @Param("today") LocalDate today,
+                                       Pageable pageable);
 
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.updatedAt = :now WHERE j.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") Job.JobStatus status,
+                     @Param("now") LocalDateTime now);
 
+    // Keyset page of jobs whose numeric ranges are missing or from an older parser (range backfill)
+    @Query("SELECT j.id AS id, j.salaryRange AS salaryRange, j.experience AS experience FROM Job j " +
+           "WHERE j.id > :after AND (j.rangeParserVersion IS NULL OR j.rangeParserVersion < :version) ORDER BY j.id")
+    List<RangeRow> findRangeBackfillRows(@Param("version") int version, @Param("after") UUID after, Pageable pageable);
 
+    // Skips jobs written at this version since the page was read: their ranges come from the newer text
+    @Modifying
+    @Query("UPDATE Job j SET j.salaryMin = :salaryMin, j.salaryMax = :salaryMax, " +
+           "j.experienceMinMonths = :experienceMin, j.experienceMaxMonths = :experienceMax, " +
+           "j.rangeParserVersion = :version " +
+           "WHERE j.id = :id AND (j.rangeParserVersion IS NULL OR j.rangeParserVersion < :version)")
+    int updateRanges(@Param("id") UUID id,
+                     @Param("salaryMin") Integer salaryMin, @Param("salaryMax") Integer salaryMax,
+                     @Param("experienceMin") Integer experienceMin, @Param("experienceMax") Integer experienceMax,
+                     @Param("version") int version);
 
+    interface RangeRow {
+        UUID getId();
+        String getSalaryRange();
+        String getExperience();
+    }
 
+    interface TextRow {
+        UUID getId();
+        String getQualification();
+        String getDescription();
+    }
+}
@@ -0,0 +1,12 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.Location;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Integer> {
+    Optional<Location> findByNormalizedName(String normalizedName);
+}
@@ -0,0 +1,12 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.Speciality;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SpecialityRepository extends JpaRepository<Speciality, Integer> {
+    Optional<Speciality> findByNormalizedName(String normalizedName);
+}
@@ -0,0 +1,36 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.StoredFile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // Insert with one reference, or add a reference to an existing file; locks the row until commit
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (sha256, size_bytes, content_type, ref_count, created_at) " +
+                   "VALUES (:sha256, :sizeBytes, :contentType, 1, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int acquireReference(@Param("sha256") String sha256,
+                         @Param("sizeBytes") long sizeBytes,
+                         @Param("contentType") String contentType);
+
+    // Row lock so releasing the last reference cannot race a concurrent acquire
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM StoredFile f WHERE f.sha256 = :sha256")
+    Optional<StoredFile> findForUpdate(@Param("sha256") String sha256);
+
+    // Keyset page of hashes (storage GC mark phase)
+    @Query("SELECT f.sha256 FROM StoredFile f WHERE f.sha256 > :after ORDER BY f.sha256")
+    List<String> findSha256After(@Param("after") String after, Pageable pageable);
+}
@@ -0,0 +1,19 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    // Sessions untouched since the cutoff (abandoned or completed but never linked)
+    @Query("SELECT s FROM UploadSession s WHERE s.updatedAt < :cutoff")
+    List<UploadSession> findStale(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -17,10 +17,6 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     Optional<User> findByEmailAndIsActiveTrue(String email);
     
-    Optional<User> findByEmailVerificationToken(String token);
-    
-    Optional<User> findByPasswordResetToken(String token);
-    
     boolean existsByEmail(String email);
     
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.isActive = true")
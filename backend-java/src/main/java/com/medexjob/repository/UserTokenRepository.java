@@ -0,0 +1,34 @@
+package com.medexjob.repository;
+
+import com.medexjob.entity.User;
+import com.medexjob.entity.UserToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserTokenRepository extends JpaRepository<UserToken, UUID> {
+
+    // Unique index lookup on the hashed token
+    @Query("SELECT t FROM UserToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash AND t.purpose = :purpose")
+    Optional<UserToken> findByTokenHashAndPurpose(@Param("tokenHash") String tokenHash,
+                                                  @Param("purpose") UserToken.TokenPurpose purpose);
+
+    // Invalidate outstanding tokens of a user for one purpose
+    @Modifying
+    @Query("DELETE FROM UserToken t WHERE t.user = :user AND t.purpose = :purpose")
+    int deleteByUserAndPurpose(@Param("user") User user, @Param("purpose") UserToken.TokenPurpose purpose);
+
+    // Delete one batch of expired tokens (kept small so the sweeper never holds long locks)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_tokens WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,49 @@
+package com.medexjob.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for a rehash when a stored hash was produced with a cost more than
+ * {@code tolerance} steps away from the current one, in either direction. {@link BCryptPasswordEncoder}
+ * only upgrades weaker hashes, which would leave over-expensive hashes in place after lowering the
+ * cost. A configured cost uses tolerance 0 (any difference); a cost calibrated per node at startup
+ * uses 1, since nodes and restarts can land a step apart and would otherwise rehash the same
+ * account back and forth between logins.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+    private final int tolerance;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        this(strength, 0);
+    }
+
+    public AdaptiveBCryptPasswordEncoder(int strength, int tolerance) {
+        super(strength);
+        this.strength = strength;
+        this.tolerance = tolerance;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        if (!matcher.find()) {
+            // Not a BCrypt hash; it cannot have matched, so there is nothing to upgrade
+            return false;
+        }
+        return Math.abs(Integer.parseInt(matcher.group(1)) - strength) > tolerance;
+    }
+}
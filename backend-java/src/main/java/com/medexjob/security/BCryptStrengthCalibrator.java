@@ -0,0 +1,64 @@
+package com.medexjob.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the BCrypt cost factor for this machine at startup so that one hash takes roughly
+ * {@code security.password-hashing.bcrypt.target-ms}. Each extra cost step doubles the work,
+ * so a single timed probe at a cheap cost is enough to extrapolate.
+ */
+@Component
+public class BCryptStrengthCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_ROUNDS = 3;
+
+    @Value("${security.password-hashing.bcrypt.strength:0}")
+    private int fixedStrength;
+
+    @Value("${security.password-hashing.bcrypt.target-ms:100}")
+    private long targetMillis;
+
+    @Value("${security.password-hashing.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${security.password-hashing.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    /** Whether the strength is set by configuration rather than measured on this machine. */
+    public boolean isConfigured() {
+        return fixedStrength > 0;
+    }
+
+    public int calibrate() {
+        if (fixedStrength > 0) {
+            logger.info("Using configured BCrypt strength {}", fixedStrength);
+            return fixedStrength;
+        }
+
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode("warm-up"); // first call pays for SecureRandom and class init
+
+        // Take the fastest round; slower ones are noise from GC or other startup work
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double probeMillis = Math.max(bestNanos / 1_000_000.0, 0.01);
+        int steps = (int) Math.round(Math.log(targetMillis / probeMillis) / Math.log(2));
+        int strength = Math.max(minStrength, Math.min(maxStrength, PROBE_STRENGTH + steps));
+
+        logger.info("Calibrated BCrypt strength {} (probe cost {} took {} ms, target {} ms)",
+                strength, PROBE_STRENGTH, String.format("%.1f", probeMillis), targetMillis);
+        return strength;
+    }
+}
@@ -28,6 +28,15 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PublicRouteClassifier publicRouteClassifier;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Fast path: anonymous traffic to permitAll routes (job listings, analytics) has nothing to authenticate
+        return publicRouteClassifier.isAnonymousPublicRequest(request);
+    }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -51,8 +60,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             } catch (io.jsonwebtoken.JwtException e) {
                 logger.error("JWT Token processing error: {}", e.getMessage());
             }
-        } else {
-            logger.warn("JWT Token does not begin with Bearer String for request: {}", request.getRequestURI());
+        } else if (requestTokenHeader != null) {
+            logger.debug("Authorization header is not a Bearer token for request: {}", request.getRequestURI());
         }
         
         // Once we get the token, validate it.
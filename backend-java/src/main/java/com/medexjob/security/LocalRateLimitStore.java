@@ -0,0 +1,86 @@
+package com.medexjob.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory, lock-free rate limit store with a fixed memory footprint.
+ *
+ * <p>Buckets are kept as GCRA "theoretical arrival times" (a token bucket expressed as a single
+ * timestamp) inside a count-min style sketch: each key maps to one cell per row and the smallest
+ * cell is taken as its state. Hash collisions can only make a key look busier than it is, never
+ * grant extra attempts. Cells are updated with CAS, and a request is only admitted if all of its
+ * cells moved from the values it decided on, so there are no locks and no per-key allocations no
+ * matter how many distinct IPs or emails an attacker cycles through.</p>
+ */
+@Component
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private static final int DEPTH = 4;
+
+    private final AtomicLongArray cells;
+    private final int width;
+    private final long epoch = System.nanoTime();
+
+    public LocalRateLimitStore(@Value("${security.login-rate-limit.sketch-width:65536}") int sketchWidth) {
+        this.width = Integer.highestOneBit(Math.max(sketchWidth, 1024));
+        this.cells = new AtomicLongArray(width * DEPTH);
+    }
+
+    @Override
+    public Duration tryAcquire(String key, int capacity, Duration refillPeriod) {
+        long now = System.nanoTime() - epoch;
+        long interval = Math.max(refillPeriod.toNanos() / Math.max(capacity, 1), 1);
+        long tolerance = interval * capacity;
+
+        long hash = fnv1a64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int[] slots = new int[DEPTH];
+        for (int row = 0; row < DEPTH; row++) {
+            slots[row] = row * width + ((h1 + row * h2) & (width - 1));
+        }
+
+        long[] observed = new long[DEPTH];
+        while (true) {
+            long arrival = Long.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                observed[row] = cells.get(slots[row]);
+                arrival = Math.min(arrival, observed[row]);
+            }
+
+            long next = Math.max(arrival, now) + interval;
+            if (next - now > tolerance) {
+                return Duration.ofNanos(next - tolerance - now);
+            }
+            if (advance(slots, observed, next)) {
+                return Duration.ZERO;
+            }
+            // A concurrent request moved one of our cells: decide again on the current values
+        }
+    }
+
+    // Moves every cell that is behind next forward from exactly the value the decision was based
+    // on, so two requests can never both be admitted for the same slot. Cells already moved when
+    // a later CAS fails stay moved; that only makes the key look busier (conservative update)
+    private boolean advance(int[] slots, long[] observed, long next) {
+        for (int row = 0; row < DEPTH; row++) {
+            if (observed[row] < next && !cells.compareAndSet(slots[row], observed[row], next)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long fnv1a64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,77 @@
+package com.medexjob.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Throttles login attempts per client IP and per target account before any BCrypt work is done,
+ * so credential-stuffing bursts are turned away cheaply.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final RateLimitStore rateLimitStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.login-rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login-rate-limit.per-ip.capacity:20}")
+    private int perIpCapacity;
+
+    @Value("${security.login-rate-limit.per-ip.refill-period:1m}")
+    private Duration perIpRefillPeriod;
+
+    @Value("${security.login-rate-limit.per-account.capacity:5}")
+    private int perAccountCapacity;
+
+    @Value("${security.login-rate-limit.per-account.refill-period:1m}")
+    private Duration perAccountRefillPeriod;
+
+    @Value("${security.login-rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    public LoginRateLimiter(RateLimitStore rateLimitStore, MeterRegistry meterRegistry) {
+        this.rateLimitStore = rateLimitStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void checkLoginAllowed(HttpServletRequest request, String email) {
+        if (!enabled) return;
+
+        Duration wait = rateLimitStore.tryAcquire("login-ip:" + clientIp(request), perIpCapacity, perIpRefillPeriod);
+        if (!wait.isZero()) {
+            reject("ip", wait);
+        }
+
+        if (email != null && !email.isBlank()) {
+            String account = email.trim().toLowerCase(Locale.ROOT);
+            wait = rateLimitStore.tryAcquire("login-account:" + account, perAccountCapacity, perAccountRefillPeriod);
+            if (!wait.isZero()) {
+                reject("account", wait);
+            }
+        }
+    }
+
+    private void reject(String scope, Duration wait) {
+        meterRegistry.counter("auth.login.rate_limited", "scope", scope).increment();
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        throw new RateLimitExceededException(seconds);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
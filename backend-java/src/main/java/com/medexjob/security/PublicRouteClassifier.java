@@ -0,0 +1,40 @@
+package com.medexjob.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Single source of truth for the {@code permitAll} routes. {@link SecurityConfig} authorizes them
+ * and {@link JwtRequestFilter} uses the same matcher to skip token work for anonymous callers.
+ */
+@Component
+public class PublicRouteClassifier {
+
+    private final RequestMatcher publicRoutes = new OrRequestMatcher(
+            antMatcher("/api/auth/**"),
+            antMatcher(HttpMethod.GET, "/api/jobs/**"),
+            antMatcher(HttpMethod.POST, "/api/jobs"),
+            antMatcher("/api/analytics/**"),
+            antMatcher("/api/actuator/**"),
+            antMatcher("/api/health")
+    );
+
+    public RequestMatcher publicRoutes() {
+        return publicRoutes;
+    }
+
+    /**
+     * True for requests that carry no credentials and target a public route; these need no
+     * authentication at all. Requests with an Authorization header are still authenticated,
+     * since some public routes (e.g. {@code /api/auth/me}) use the principal when present.
+     */
+    public boolean isAnonymousPublicRequest(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.AUTHORIZATION) == null && publicRoutes.matches(request);
+    }
+}
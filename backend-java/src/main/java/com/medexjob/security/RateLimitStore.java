@@ -0,0 +1,20 @@
+package com.medexjob.security;
+
+import java.time.Duration;
+
+/**
+ * Backend for token-bucket rate limits. The in-process {@link LocalRateLimitStore} is enough for a
+ * single node; a shared implementation (e.g. Redis) can be registered as a {@code @Primary} bean
+ * to enforce limits across the cluster.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Tries to take one token from the bucket identified by {@code key}.
+     *
+     * @param capacity     bucket size (maximum burst)
+     * @param refillPeriod time in which a full bucket is refilled
+     * @return {@link Duration#ZERO} if the attempt is allowed, otherwise how long to wait before retrying
+     */
+    Duration tryAcquire(String key, int capacity, Duration refillPeriod);
+}
@@ -13,7 +13,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -36,10 +35,18 @@ public class SecurityConfig {
 
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private BCryptStrengthCalibrator bCryptStrengthCalibrator;
+
+    @Autowired
+    private PublicRouteClassifier publicRouteClassifier;
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // A measured cost can differ by a step between nodes and restarts; don't rehash over that
+        int tolerance = bCryptStrengthCalibrator.isConfigured() ? 0 : 1;
+        return new AdaptiveBCryptPasswordEncoder(bCryptStrengthCalibrator.calibrate(), tolerance);
     }
     
     @Bean
@@ -52,6 +59,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash stored passwords whose BCrypt cost differs from the calibrated one on successful login
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
     
@@ -60,11 +69,9 @@ public class SecurityConfig {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authz -> authz
-                // Public endpoints
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/jobs/**").permitAll()
+                // Public endpoints (auth, job listing/detail, job posting, analytics, actuator, health)
+                .requestMatchers(publicRouteClassifier.publicRoutes()).permitAll()
                 // Admin-only endpoints
-                .requestMatchers(HttpMethod.POST, "/api/jobs").permitAll()
                 .requestMatchers(HttpMethod.PUT, "/api/jobs/**").hasAuthority("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/jobs/**").hasAuthority("ADMIN")
                 // Application endpoints
@@ -72,9 +79,6 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/applications").hasAuthority("ADMIN") // Only admin can list all
                 .requestMatchers(HttpMethod.PUT, "/api/applications/**/status").hasAuthority("ADMIN") // Only admin can update status
                 .requestMatchers(HttpMethod.DELETE, "/api/applications/**").hasAuthority("ADMIN") // Only admin can delete
-                .requestMatchers("/api/analytics/**").permitAll()
-                .requestMatchers("/api/actuator/**").permitAll()
-                .requestMatchers("/api/health").permitAll()
                 .anyRequest().authenticated()
             )
             .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
@@ -0,0 +1,148 @@
+package com.medexjob.service;
+
+import com.medexjob.repository.ApplicationRepository;
+import com.medexjob.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Cheap "has this candidate already applied to this job" check. A Bloom filter of
+ * {@code (jobId, candidateEmail)} pairs answers most first-time applies without a query; only
+ * possible duplicates are confirmed against the database. The filter is rebuilt periodically
+ * from the table, which also picks up applications made on other nodes in the meantime.
+ * <p>
+ * This is only the fast path: the unique key on {@code applications (job_id, candidate_email)}
+ * is what actually prevents duplicates, including ones the filter has not seen yet.
+ */
+@Service
+public class ApplicationDuplicateGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationDuplicateGuard.class);
+
+    private final ApplicationRepository applicationRepository;
+    private final Counter filteredCounter;
+    private final Counter checkedCounter;
+    private final Counter duplicateCounter;
+
+    // null until the first build completes; everything is checked against the database until then
+    private BloomFilter filter;
+    private BloomFilter building;
+    private long capacity;
+    private long added;
+
+    @Value("${applications.duplicate-guard.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${applications.duplicate-guard.page-size:5000}")
+    private int pageSize;
+
+    public ApplicationDuplicateGuard(ApplicationRepository applicationRepository, MeterRegistry meterRegistry) {
+        this.applicationRepository = applicationRepository;
+        this.filteredCounter = Counter.builder("applications.duplicate_guard").tag("outcome", "filtered")
+                .description("Duplicate-apply checks by outcome")
+                .register(meterRegistry);
+        this.checkedCounter = Counter.builder("applications.duplicate_guard").tag("outcome", "checked")
+                .description("Duplicate-apply checks by outcome")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("applications.duplicate_guard").tag("outcome", "duplicate")
+                .description("Duplicate-apply checks by outcome")
+                .register(meterRegistry);
+    }
+
+    /** True if this candidate has an application for the job (exact; the filter only skips the query). */
+    public boolean isDuplicate(UUID jobId, String candidateEmail) {
+        if (candidateEmail == null) return false;
+        synchronized (this) {
+            if (filter != null && !filter.mightContain(key(jobId, candidateEmail))) {
+                filteredCounter.increment();
+                return false;
+            }
+        }
+        checkedCounter.increment();
+        boolean duplicate = applicationRepository.existsByJobIdAndCandidateEmail(jobId, candidateEmail);
+        if (duplicate) {
+            duplicateCounter.increment();
+        }
+        return duplicate;
+    }
+
+    /** Records a new application so later applies by the same candidate are checked. */
+    public synchronized void recordApplied(UUID jobId, String candidateEmail) {
+        if (candidateEmail == null) return;
+        String key = key(jobId, candidateEmail);
+        if (filter != null) filter.put(key);
+        if (building != null) building.put(key);
+        added++;
+    }
+
+    // Rebuilt from scratch: deleted applications drop out and the filter is resized to the table
+    @Scheduled(fixedDelayString = "${applications.duplicate-guard.rebuild-interval:PT6H}", initialDelayString = "PT20S")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long expected = Math.max(2 * applicationRepository.count(), 100_000);
+        BloomFilter next = new BloomFilter(expected, falsePositiveRate);
+        synchronized (this) {
+            // Applications recorded while the table is being read go into both filters
+            building = next;
+        }
+
+        long rows = 0;
+        try {
+            Pageable pageable = PageRequest.of(0, pageSize);
+            UUID after = new UUID(0, 0);
+            List<ApplicationRepository.GuardRow> page;
+            do {
+                page = applicationRepository.findGuardRowsAfter(after, pageable);
+                synchronized (this) {
+                    for (ApplicationRepository.GuardRow row : page) {
+                        next.put(key(row.getJobId(), row.getCandidateEmail()));
+                    }
+                }
+                rows += page.size();
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == pageSize);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = null;
+            }
+            logger.warn("Could not rebuild the duplicate-apply filter, keeping the current one: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            filter = next;
+            building = null;
+            capacity = expected;
+            added = rows;
+        }
+        logger.info("Duplicate-apply filter rebuilt with {} applications ({} KB) in {} ms",
+                rows, next.sizeInBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    // Past its sizing the filter's false-positive rate climbs; rebuild early instead of waiting
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void rebuildIfFull() {
+        boolean full;
+        synchronized (this) {
+            full = filter != null && added > capacity;
+        }
+        if (full) rebuild();
+    }
+
+    private static String key(UUID jobId, String candidateEmail) {
+        return jobId + ":" + candidateEmail.trim().toLowerCase(Locale.ROOT);
+    }
+}
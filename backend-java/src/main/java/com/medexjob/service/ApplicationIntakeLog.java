@@ -0,0 +1,370 @@
+package com.medexjob.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, append-only local journal of accepted job applications ({@code applications.log}), with
+ * a checkpoint file holding the offset up to which records are in the database.
+ * <p>
+ * One record per line: {@code <crc32 hex> TAB <json>}. {@link #append} returns only after the
+ * record is forced to disk; concurrent appenders share one {@code fsync} (group commit). A record
+ * torn by a crash was never acknowledged and is trimmed on startup; one failing its checksum is
+ * skipped with a warning. Once everything has been drained the log is truncated.
+ */
+@Component
+public class ApplicationIntakeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationIntakeLog.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path logFile;
+    private final Path checkpointFile;
+    private final Path rejectedFile;
+    private final FileChannel channel;
+
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private long syncedPosition;
+    private volatile long checkpoint;
+
+    public ApplicationIntakeLog(ObjectMapper objectMapper,
+                                @Value("${applications.intake.dir:data/intake}") String dir) {
+        this.objectMapper = objectMapper;
+        Path directory = Paths.get(dir);
+        this.logFile = directory.resolve("applications.log");
+        this.checkpointFile = directory.resolve("applications.checkpoint");
+        this.rejectedFile = directory.resolve("applications.rejected");
+        try {
+            Files.createDirectories(directory);
+            this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            trimTornTail();
+            this.syncedPosition = channel.size();
+            this.checkpoint = readCheckpoint();
+            if (checkpoint > channel.size()) {
+                // Crashed between resetting the checkpoint and truncating, or the other way round
+                checkpoint = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open application intake log in " + directory, e);
+        }
+        if (backlogBytes() > 0) {
+            logger.info("Application intake log has {} bytes to replay from offset {}", backlogBytes(), checkpoint);
+        }
+    }
+
+    /** One accepted application, as journaled. */
+    public static class Record {
+        private UUID id;
+        private UUID jobId;
+        private String candidateName;
+        private String candidateEmail;
+        private String candidatePhone;
+        private String resumeUrl;
+        private String notes;
+        private LocalDateTime receivedAt;
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public UUID getJobId() {
+            return jobId;
+        }
+
+        public void setJobId(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        public String getCandidateName() {
+            return candidateName;
+        }
+
+        public void setCandidateName(String candidateName) {
+            this.candidateName = candidateName;
+        }
+
+        public String getCandidateEmail() {
+            return candidateEmail;
+        }
+
+        public void setCandidateEmail(String candidateEmail) {
+            this.candidateEmail = candidateEmail;
+        }
+
+        public String getCandidatePhone() {
+            return candidatePhone;
+        }
+
+        public void setCandidatePhone(String candidatePhone) {
+            this.candidatePhone = candidatePhone;
+        }
+
+        public String getResumeUrl() {
+            return resumeUrl;
+        }
+
+        public void setResumeUrl(String resumeUrl) {
+            this.resumeUrl = resumeUrl;
+        }
+
+        public String getNotes() {
+            return notes;
+        }
+
+        public void setNotes(String notes) {
+            this.notes = notes;
+        }
+
+        public LocalDateTime getReceivedAt() {
+            return receivedAt;
+        }
+
+        public void setReceivedAt(LocalDateTime receivedAt) {
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    /** Records read from the log, and the offset just past the last one. */
+    public static class Batch {
+        private final List<Record> records;
+        private final long endOffset;
+
+        Batch(List<Record> records, long endOffset) {
+            this.records = records;
+            this.endOffset = endOffset;
+        }
+
+        public List<Record> getRecords() {
+            return records;
+        }
+
+        public long getEndOffset() {
+            return endOffset;
+        }
+    }
+
+    // ---------------- Write side ----------------
+    /** Appends a record and returns once it is durable. */
+    public void append(Record record) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        byte[] prefix = String.format("%08x\t", crc.getValue()).getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer line = ByteBuffer.allocate(prefix.length + json.length + 1);
+        line.put(prefix).put(json).put((byte) '\n').flip();
+
+        long end;
+        synchronized (appendLock) {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            end = channel.size();
+        }
+        syncTo(end);
+    }
+
+    // Whoever gets the lock forces everything written so far; later callers it covered return at once
+    private void syncTo(long end) throws IOException {
+        synchronized (syncLock) {
+            if (syncedPosition >= end) return;
+            long target = channel.size();
+            channel.force(false);
+            syncedPosition = target;
+        }
+    }
+
+    // ---------------- Read side ----------------
+    /** Reads up to {@code max} complete records starting at the checkpoint. */
+    public Batch read(int max) throws IOException {
+        long offset = checkpoint;
+        long size = channel.size();
+        List<Record> records = new ArrayList<>();
+        ByteArrayOutputStream current = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = offset;
+        long endOffset = offset;
+
+        while (records.size() < max && position < size) {
+            buffer.clear();
+            int n = channel.read(buffer, position);
+            if (n <= 0) break;
+            buffer.flip();
+            while (buffer.hasRemaining() && records.size() < max) {
+                byte b = buffer.get();
+                position++;
+                if (b != '\n') {
+                    current.write(b);
+                    continue;
+                }
+                Record record = decode(current.toByteArray(), endOffset);
+                if (record != null) {
+                    records.add(record);
+                }
+                current.reset();
+                endOffset = position;
+            }
+            // Re-read from the last record boundary next round
+            position = endOffset + current.size();
+        }
+        return new Batch(records, endOffset);
+    }
+
+    private Record decode(byte[] line, long offset) {
+        int tab = indexOf(line, (byte) '\t');
+        if (tab == 8) {
+            CRC32 crc = new CRC32();
+            crc.update(line, tab + 1, line.length - tab - 1);
+            String expected = new String(line, 0, tab, StandardCharsets.US_ASCII);
+            if (expected.equals(String.format("%08x", crc.getValue()))) {
+                try {
+                    return objectMapper.readValue(line, tab + 1, line.length - tab - 1, Record.class);
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable intake record at offset {}: {}", offset, e.getMessage());
+                    return null;
+                }
+            }
+        }
+        logger.warn("Skipping corrupt intake record at offset {} ({} bytes)", offset, line.length);
+        return null;
+    }
+
+    /**
+     * Marks everything before {@code offset} as persisted. When that is the whole log, the log is
+     * truncated; the checkpoint is reset first, so a crash in between only causes an idempotent replay.
+     */
+    public void commit(long offset) throws IOException {
+        writeCheckpoint(offset);
+        checkpoint = offset;
+        synchronized (appendLock) {
+            if (offset == channel.size() && offset > 0) {
+                writeCheckpoint(0);
+                checkpoint = 0;
+                synchronized (syncLock) {
+                    channel.truncate(0);
+                    channel.force(false);
+                    syncedPosition = 0;
+                }
+            }
+        }
+    }
+
+    /** Sets a record the database refuses aside in {@code applications.rejected}, for manual follow-up. */
+    public synchronized void reject(Record record, String reason) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("reason", reason);
+        entry.put("record", record);
+        byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel out = FileChannel.open(rejectedFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            out.write(ByteBuffer.wrap(line));
+            out.force(false);
+        }
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /** Bytes accepted but not yet persisted to the database. */
+    public long backlogBytes() {
+        try {
+            return Math.max(0, channel.size() - checkpoint);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) return 0;
+        String value = new String(Files.readAllBytes(checkpointFile), StandardCharsets.US_ASCII).trim();
+        try {
+            return value.isEmpty() ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // Replaying from the start is safe: persisting is idempotent
+            logger.warn("Ignoring unreadable intake checkpoint '{}'", value);
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.US_ASCII)));
+            out.force(false);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Drops a partial last line left by a crash mid-append (it was never acknowledged)
+    private void trimTornTail() throws IOException {
+        long size = channel.size();
+        if (size == 0) return;
+        ByteBuffer one = ByteBuffer.allocate(1);
+        channel.read(one, size - 1);
+        if (one.get(0) == '\n') return;
+
+        ByteBuffer block = ByteBuffer.allocate(8192);
+        long end = size;
+        while (end > 0) {
+            long start = Math.max(0, end - block.capacity());
+            block.clear().limit((int) (end - start));
+            channel.read(block, start);
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    truncateTo(start + i + 1, size);
+                    return;
+                }
+            }
+            end = start;
+        }
+        truncateTo(0, size);
+    }
+
+    private void truncateTo(long length, long size) throws IOException {
+        logger.warn("Discarding {} bytes of an incomplete record at the end of {}", size - length, logFile);
+        channel.truncate(length);
+        channel.force(false);
+    }
+
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) return i;
+        }
+        return -1;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,243 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.Application;
+import com.medexjob.entity.DocumentProcessingJob;
+import com.medexjob.entity.Job;
+import com.medexjob.repository.ApplicationRepository;
+import com.medexjob.repository.JobRepository;
+import com.medexjob.util.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Queued intake of job applications ({@code applications.intake.mode=queued}), for the spikes
+ * before a job's last date. The request only validates, appends the application to the
+ * {@link ApplicationIntakeLog} and answers with the application's id; a drainer then inserts the
+ * log in batches, one transaction per batch.
+ * <p>
+ * Delivery is at least once: the checkpoint is moved only after a batch commits, so a crash in
+ * between replays it. Replay is idempotent because ids are assigned at intake and records whose
+ * id is already stored are skipped (and their job's counter is not bumped again).
+ */
+@Service
+public class ApplicationIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationIntakeService.class);
+
+    private final ApplicationIntakeLog intakeLog;
+    private final ApplicationRepository applicationRepository;
+    private final JobRepository jobRepository;
+    private final ResumeStorageService resumeStorageService;
+    private final DocumentProcessingService documentProcessingService;
+    private final ResumeSearchIndex resumeSearchIndex;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter acceptedCounter;
+    private final Counter persistedCounter;
+    private final Counter rejectedCounter;
+    private final Timer batchTimer;
+
+    @Value("${applications.intake.mode:sync}")
+    private String mode;
+
+    @Value("${applications.intake.batch-size:200}")
+    private int batchSize;
+
+    public ApplicationIntakeService(ApplicationIntakeLog intakeLog, ApplicationRepository applicationRepository,
+                                    JobRepository jobRepository, ResumeStorageService resumeStorageService,
+                                    DocumentProcessingService documentProcessingService,
+                                    ResumeSearchIndex resumeSearchIndex, Validator validator,
+                                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.intakeLog = intakeLog;
+        this.applicationRepository = applicationRepository;
+        this.jobRepository = jobRepository;
+        this.resumeStorageService = resumeStorageService;
+        this.documentProcessingService = documentProcessingService;
+        this.resumeSearchIndex = resumeSearchIndex;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.acceptedCounter = Counter.builder("applications.intake.accepted")
+                .description("Applications acknowledged from the intake log")
+                .register(meterRegistry);
+        this.persistedCounter = Counter.builder("applications.intake.persisted")
+                .description("Intake-log applications in the database (replays included)")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("applications.intake.rejected")
+                .description("Intake-log applications the database refused, set aside in applications.rejected")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("applications.intake.batch")
+                .description("Time to persist one batch of queued applications")
+                .register(meterRegistry);
+        Gauge.builder("applications.intake.backlog", intakeLog, ApplicationIntakeLog::backlogBytes)
+                .baseUnit("bytes")
+                .description("Acknowledged applications not yet in the database")
+                .register(meterRegistry);
+    }
+
+    public boolean isQueued() {
+        return "queued".equalsIgnoreCase(mode);
+    }
+
+    // ---------------- Intake ----------------
+    /** Bean-validation messages for an application about to be accepted; empty when valid. */
+    public List<String> validate(Application application) {
+        return validator.validate(application).stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Durably records a validated application and returns its id. Once this returns the
+     * application will be persisted, even across a restart.
+     */
+    public UUID accept(Application application) throws IOException {
+        ApplicationIntakeLog.Record record = new ApplicationIntakeLog.Record();
+        record.setId(application.getId() != null ? application.getId() : UuidV7.generate());
+        record.setJobId(application.getJob().getId());
+        record.setCandidateName(application.getCandidateName());
+        record.setCandidateEmail(application.getCandidateEmail());
+        record.setCandidatePhone(application.getCandidatePhone());
+        record.setResumeUrl(application.getResumeUrl());
+        record.setNotes(application.getNotes());
+        record.setReceivedAt(LocalDateTime.now());
+
+        intakeLog.append(record);
+        acceptedCounter.increment();
+        return record.getId();
+    }
+
+    // ---------------- Drainer ----------------
+    // Runs in every mode, so records accepted before switching back to sync are still persisted
+    @Scheduled(fixedDelayString = "${applications.intake.drain-interval:PT1S}", initialDelayString = "PT10S")
+    public void drain() {
+        try {
+            ApplicationIntakeLog.Batch batch;
+            do {
+                batch = intakeLog.read(batchSize);
+                if (batch.getRecords().isEmpty()) {
+                    if (batch.getEndOffset() != intakeLog.getCheckpoint()) {
+                        intakeLog.commit(batch.getEndOffset()); // only corrupt records were skipped
+                    }
+                    return;
+                }
+                Timer.Sample sample = Timer.start();
+                List<Application> stored = persist(batch.getRecords());
+                intakeLog.commit(batch.getEndOffset());
+                sample.stop(batchTimer);
+                afterCommit(stored);
+            } while (batch.getRecords().size() == batchSize);
+        } catch (IOException e) {
+            logger.error("Application intake log unavailable: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // Database unavailable etc.; the batch stays in the log and is retried on the next run
+            logger.warn("Could not persist queued applications, will retry: {}", e.getMessage());
+        }
+    }
+
+    // Inserts a batch in one transaction; if the database refuses part of it, retries record by record
+    private List<Application> persist(List<ApplicationIntakeLog.Record> records) throws IOException {
+        try {
+            return transactionTemplate.execute(status -> insert(records));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            logger.warn("Batch of {} queued applications refused ({}), persisting one by one",
+                    records.size(), e.getMessage());
+        }
+
+        List<Application> stored = new ArrayList<>();
+        for (ApplicationIntakeLog.Record record : records) {
+            try {
+                stored.addAll(transactionTemplate.execute(status -> insert(List.of(record))));
+            } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+                intakeLog.reject(record, e.getMessage());
+                rejectedCounter.increment();
+                resumeStorageService.release(record.getResumeUrl());
+                logger.error("Queued application {} refused by the database and set aside: {}",
+                        record.getId(), e.getMessage());
+            }
+        }
+        return stored;
+    }
+
+    // Returns the applications of this batch that are in the database, including replayed ones
+    private List<Application> insert(List<ApplicationIntakeLog.Record> records) {
+        Set<UUID> existing = new HashSet<>(applicationRepository.findExistingIds(
+                records.stream().map(ApplicationIntakeLog.Record::getId).collect(Collectors.toList())));
+        Map<UUID, Job> jobs = jobRepository.findAllById(
+                        records.stream().map(ApplicationIntakeLog.Record::getJobId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        List<Application> result = new ArrayList<>();
+        List<Application> fresh = new ArrayList<>();
+        Map<UUID, Integer> addedPerJob = new HashMap<>();
+        for (ApplicationIntakeLog.Record record : records) {
+            Job job = jobs.get(record.getJobId());
+            if (existing.contains(record.getId())) {
+                // Persisted before a crash; only the follow-up work is redone
+                if (job != null) result.add(toApplication(record, job));
+                continue;
+            }
+            if (job == null) {
+                // Job deleted after the application was acknowledged
+                throw new DataIntegrityViolationException("Job " + record.getJobId() + " no longer exists");
+            }
+            Application application = toApplication(record, job);
+            Set<ConstraintViolation<Application>> violations = validator.validate(application);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            fresh.add(application);
+            addedPerJob.merge(job.getId(), 1, Integer::sum);
+        }
+
+        applicationRepository.saveAll(fresh);
+        addedPerJob.forEach(jobRepository::incrementApplicationsCount);
+        result.addAll(fresh);
+        return result;
+    }
+
+    private Application toApplication(ApplicationIntakeLog.Record record, Job job) {
+        Application application = new Application();
+        application.setId(record.getId());
+        application.setJob(job);
+        application.setCandidateName(record.getCandidateName());
+        application.setCandidateEmail(record.getCandidateEmail());
+        application.setCandidatePhone(record.getCandidatePhone());
+        application.setResumeUrl(record.getResumeUrl());
+        application.setNotes(record.getNotes());
+        application.setStatus(Application.ApplicationStatus.APPLIED);
+        return application;
+    }
+
+    // Same follow-up as a synchronous apply; both calls are idempotent, so replays are harmless
+    private void afterCommit(List<Application> stored) {
+        persistedCounter.increment(stored.size());
+        for (Application application : stored) {
+            documentProcessingService.enqueue(ResumeStorageService.blobKeyOf(application.getResumeUrl()),
+                    DocumentProcessingJob.DocumentSource.RESUME);
+            resumeSearchIndex.applicationAdded(application.getId(), application.getJob().getId(),
+                    application.getCandidateName(), application.getResumeUrl());
+        }
+    }
+}
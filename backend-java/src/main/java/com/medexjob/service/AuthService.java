@@ -4,10 +4,12 @@ import com.medexjob.dto.LoginRequest;
 import com.medexjob.dto.RegisterRequest;
 import com.medexjob.dto.AuthResponse;
 import com.medexjob.entity.User;
+import com.medexjob.entity.UserToken;
 import com.medexjob.security.AuthException;
 import com.medexjob.repository.UserRepository;
 import com.medexjob.security.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
@@ -17,7 +19,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.time.Duration;
 
 @Service
 @Transactional
@@ -35,6 +37,15 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private UserTokenService userTokenService;
+
+    @Value("${auth.tokens.email-verification-ttl:PT48H}")
+    private Duration emailVerificationTtl;
+
+    @Value("${auth.tokens.password-reset-ttl:PT1H}")
+    private Duration passwordResetTtl;
+
     // ---------------- Register ----------------
     public void register(RegisterRequest registerRequest) {
         // Validate role
@@ -59,26 +70,26 @@ public class AuthService {
         user.setIsActive(true);
         user.setIsVerified(true);
 
-        // Optional: keep email verification token for later
-        user.setEmailVerificationToken(UUID.randomUUID().toString());
-
         userRepository.save(user);
 
+        // Optional: keep email verification token for later
+        userTokenService.issue(user, UserToken.TokenPurpose.EMAIL_VERIFICATION, emailVerificationTtl);
+
         // TODO: Send email verification email (for production)
     }
 
     // ---------------- Login ----------------
     public AuthResponse login(LoginRequest loginRequest) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            // Runs on the password hashing pool; the API is stateless (JWT), so the
+            // result is not stored in the SecurityContext of this pooled thread.
+            authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                     loginRequest.getEmail(),
                     loginRequest.getPassword()
                 )
             );
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
             User user = userRepository.findByEmailAndIsActiveTrue(loginRequest.getEmail())
                     .orElseThrow(() -> new AuthException("User not found or inactive"));
 
@@ -105,14 +116,19 @@ public class AuthService {
 
     // ---------------- Email Verification ----------------
     public boolean verifyEmail(String token) {
-        User user = userRepository.findByEmailVerificationToken(token)
+        UserToken verificationToken = userTokenService.find(token, UserToken.TokenPurpose.EMAIL_VERIFICATION)
                 .orElseThrow(() -> new AuthException("Invalid verification token"));
 
+        if (verificationToken.isExpired()) {
+            throw new AuthException("Verification token has expired");
+        }
+
+        User user = verificationToken.getUser();
         user.setIsVerified(true);
         user.setEmailVerifiedAt(java.time.LocalDateTime.now());
-        user.setEmailVerificationToken(null);
 
         userRepository.save(user);
+        userTokenService.consume(verificationToken);
         return true;
     }
 
@@ -121,29 +137,25 @@ public class AuthService {
         User user = userRepository.findByEmailAndIsActiveTrue(email)
                 .orElseThrow(() -> new AuthException("User not found"));
 
-        String resetToken = UUID.randomUUID().toString();
-        user.setPasswordResetToken(resetToken);
-        user.setPasswordResetExpires(java.time.LocalDateTime.now().plusHours(1));
-
-        userRepository.save(user);
+        userTokenService.issue(user, UserToken.TokenPurpose.PASSWORD_RESET, passwordResetTtl);
 
-        // TODO: Send password reset email
+        // TODO: Send password reset email (with the token returned by issue)
     }
 
     // ---------------- Reset Password ----------------
     public boolean resetPassword(String token, String newPassword) {
-        User user = userRepository.findByPasswordResetToken(token)
+        UserToken resetToken = userTokenService.find(token, UserToken.TokenPurpose.PASSWORD_RESET)
                 .orElseThrow(() -> new AuthException("Invalid reset token"));
 
-        if (user.getPasswordResetExpires().isBefore(java.time.LocalDateTime.now())) {
+        if (resetToken.isExpired()) {
             throw new AuthException("Reset token has expired");
         }
 
+        User user = resetToken.getUser();
         user.setPasswordHash(passwordEncoder.encode(newPassword));
-        user.setPasswordResetToken(null);
-        user.setPasswordResetExpires(null);
 
         userRepository.save(user);
+        userTokenService.consume(resetToken);
         return true;
     }
 }
@@ -0,0 +1,24 @@
+package com.medexjob.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts second-level cache invalidations between application nodes. Each node publishes the
+ * entities it changed; every other node evicts them (and the query results depending on their
+ * table) from its own cache. Implementations must not block the publishing thread, which is the
+ * one committing the transaction, and may drop messages under pressure: cache regions also
+ * expire (see ehcache.xml), which bounds how long a missed invalidation can be served.
+ */
+public interface CacheInvalidationChannel {
+
+    void publish(Invalidation invalidation);
+
+    /** Called once at startup; {@code listener} receives invalidations from all nodes, this one included. */
+    void subscribe(Consumer<Invalidation> listener);
+
+    /**
+     * One changed row. {@code origin} identifies the publishing node; {@code id} is the entity's
+     * id as a string, or {@code null} for "any row of this entity".
+     */
+    record Invalidation(String origin, String entityName, String id) {}
+}
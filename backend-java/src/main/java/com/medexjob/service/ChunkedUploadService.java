@@ -0,0 +1,295 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.UploadSession;
+import com.medexjob.repository.UploadSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Resumable uploads: {@code init} a session, append chunks at the offset the server reports, then
+ * {@code complete} to verify size and SHA-256. Completed files stay in the temp area until a caller
+ * links them (resume on an application, employer document) and discards the session. Sessions not
+ * touched within {@code session-ttl} are garbage-collected together with their temp files.
+ * <p>
+ * The temp area is on the local disk of the node that created the session, so every request of a
+ * session must reach that node: the load balancer needs session affinity for {@code /api/uploads}.
+ * A request routed elsewhere is refused (409) rather than written to the wrong node's disk.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final Pattern SHA256_HEX = Pattern.compile("^[0-9a-f]{64}$");
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final Path sessionPath;
+    private final long maxFileSize;
+    private final long maxChunkSize;
+    private final Duration sessionTtl;
+    private final String nodeId;
+
+    // Sessions with a chunk being appended; sessions only ever take chunks on their own node
+    private final Set<UUID> appending = ConcurrentHashMap.newKeySet();
+
+    public ChunkedUploadService(UploadSessionRepository uploadSessionRepository,
+                                @Value("${file.upload-dir:uploads/}") String uploadDir,
+                                @Value("${uploads.chunked.max-file-size:10MB}") DataSize maxFileSize,
+                                @Value("${uploads.chunked.max-chunk-size:2MB}") DataSize maxChunkSize,
+                                @Value("${uploads.chunked.session-ttl:PT24H}") Duration sessionTtl,
+                                @Value("${uploads.chunked.node-id:}") String nodeId) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.sessionPath = Paths.get(uploadDir).resolve("tmp").resolve("chunked");
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxChunkSize = maxChunkSize.toBytes();
+        this.sessionTtl = sessionTtl;
+        this.nodeId = nodeId.isBlank() ? localHostName() : nodeId;
+        try {
+            Files.createDirectories(sessionPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload session directory", e);
+        }
+    }
+
+    // ---------------- Protocol ----------------
+    public UploadSession init(UploadSession.UploadPurpose purpose, String ownerEmail, String fileName,
+                              String contentType, long totalSize, String sha256) throws IOException {
+        if (totalSize <= 0 || totalSize > maxFileSize) {
+            throw new UploadException(HttpStatus.PAYLOAD_TOO_LARGE, "File size must be between 1 and " + maxFileSize + " bytes");
+        }
+        String expected = sha256 == null ? "" : sha256.trim().toLowerCase(Locale.ROOT);
+        if (!SHA256_HEX.matcher(expected).matches()) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "sha256 of the whole file is required (64 hex characters)");
+        }
+
+        UploadSession session = new UploadSession(purpose, ownerEmail, fileName, contentType, totalSize, expected);
+        session.setNode(nodeId);
+        session = uploadSessionRepository.save(session);
+        Files.createFile(fileOf(session));
+        return session;
+    }
+
+    public UploadSession status(UUID id, String ownerEmail) {
+        return load(id, ownerEmail);
+    }
+
+    /**
+     * Appends one chunk starting at {@code offset}, which must equal the bytes received so far.
+     * Anything a failed earlier attempt wrote past that offset is truncated first, so a client can
+     * always retry from the offset returned by {@link #status}.
+     */
+    public UploadSession appendChunk(UUID id, String ownerEmail, long offset, InputStream body) throws IOException {
+        // A second chunk for the same session is a client error; refuse it instead of waiting behind a slow upload
+        if (!appending.add(id)) {
+            throw new UploadException(HttpStatus.CONFLICT, "Concurrent chunk for the same upload");
+        }
+        try {
+            UploadSession session = loadLocal(id, ownerEmail);
+            if (session.getStatus() != UploadSession.UploadStatus.IN_PROGRESS) {
+                throw new UploadException(HttpStatus.CONFLICT, "Upload is already completed", session.getReceivedBytes());
+            }
+            long received = session.getReceivedBytes();
+            if (offset != received) {
+                throw new UploadException(HttpStatus.CONFLICT, "Offset mismatch; resume from the current offset", received);
+            }
+
+            long limit = Math.min(maxChunkSize, session.getTotalSize() - received);
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(fileOf(session), StandardOpenOption.WRITE)) {
+                channel.truncate(received);
+                ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+                byte[] array = buffer.array();
+                int read;
+                while (written < limit
+                        && (read = body.read(array, 0, (int) Math.min(array.length, limit - written))) != -1) {
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer, received + written + buffer.position());
+                    }
+                    written += read;
+                }
+                if (written == limit && body.read() != -1) {
+                    channel.truncate(received);
+                    throw new UploadException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Chunk exceeds " + limit + " bytes (chunk limit or remaining file size)", received);
+                }
+                channel.force(false);
+            }
+
+            session.setReceivedBytes(received + written);
+            try {
+                return uploadSessionRepository.save(session);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                throw new UploadException(HttpStatus.CONFLICT, "Concurrent chunk for the same upload", received);
+            }
+        } finally {
+            appending.remove(id);
+        }
+    }
+
+    /**
+     * Verifies that every byte arrived and that the content matches the announced SHA-256. On a
+     * checksum mismatch the session is dropped and the client must upload again.
+     */
+    public UploadSession complete(UUID id, String ownerEmail) throws IOException {
+        UploadSession session = loadLocal(id, ownerEmail);
+        if (session.getStatus() == UploadSession.UploadStatus.COMPLETED) {
+            return session;
+        }
+        if (!session.getReceivedBytes().equals(session.getTotalSize())) {
+            throw new UploadException(HttpStatus.CONFLICT, "Upload is incomplete", session.getReceivedBytes());
+        }
+
+        // Sessions from before sha256 was required (no expected value) fail here too: nothing was verified
+        String actual = sha256Of(fileOf(session));
+        if (!actual.equals(session.getExpectedSha256())) {
+            discard(session);
+            throw new UploadException(HttpStatus.UNPROCESSABLE_ENTITY, "Checksum mismatch; the upload must be restarted");
+        }
+
+        session.setSha256(actual);
+        session.setStatus(UploadSession.UploadStatus.COMPLETED);
+        return uploadSessionRepository.save(session);
+    }
+
+    public void abort(UUID id, String ownerEmail) throws IOException {
+        discard(load(id, ownerEmail));
+    }
+
+    // ---------------- Linking ----------------
+    // Returns a verified upload of the given purpose; link fileOf(session), then discard(session).
+    public UploadSession claimCompleted(UUID id, String ownerEmail, UploadSession.UploadPurpose purpose) {
+        UploadSession session = loadLocal(id, ownerEmail);
+        if (session.getPurpose() != purpose) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "Upload was not created for this purpose");
+        }
+        if (session.getStatus() != UploadSession.UploadStatus.COMPLETED) {
+            throw new UploadException(HttpStatus.CONFLICT, "Upload is not completed", session.getReceivedBytes());
+        }
+        return session;
+    }
+
+    public Path fileOf(UploadSession session) {
+        return sessionPath.resolve(session.getId() + ".part");
+    }
+
+    public void discard(UploadSession session) throws IOException {
+        Files.deleteIfExists(fileOf(session));
+        uploadSessionRepository.delete(session);
+    }
+
+    public long getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    // ---------------- Stale session collector ----------------
+    @Scheduled(fixedDelayString = "${uploads.chunked.gc-interval:PT15M}", initialDelayString = "PT2M")
+    public void collectStaleSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(sessionTtl);
+        List<UploadSession> stale = uploadSessionRepository.findStale(cutoff);
+        int removed = 0;
+        for (UploadSession session : stale) {
+            try {
+                discard(session);
+                removed++;
+            } catch (IOException | ObjectOptimisticLockingFailureException e) {
+                // Touched again since we loaded it, or the file is busy; the next run retries
+                logger.debug("Skipping stale upload {}: {}", session.getId(), e.getMessage());
+            }
+        }
+
+        // Temp files left without a session row (e.g. crash between insert and file creation)
+        Instant fileCutoff = Instant.now().minus(sessionTtl);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sessionPath, "*.part")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(fileCutoff) && !hasSession(file)) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not sweep upload session directory: {}", e.getMessage());
+        }
+
+        if (removed > 0) {
+            logger.info("Removed {} stale upload sessions and temp files", removed);
+        }
+    }
+
+    private boolean hasSession(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return uploadSessionRepository.existsById(UUID.fromString(name.substring(0, name.length() - ".part".length())));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private UploadSession load(UUID id, String ownerEmail) {
+        return uploadSessionRepository.findById(id)
+                .filter(s -> s.getOwnerEmail().equalsIgnoreCase(ownerEmail))
+                .orElseThrow(() -> new UploadException(HttpStatus.NOT_FOUND, "Upload not found"));
+    }
+
+    // The session's temp file must be on this node's disk; refuse requests routed to another node
+    private UploadSession loadLocal(UUID id, String ownerEmail) {
+        UploadSession session = load(id, ownerEmail);
+        if (session.getNode() != null && !session.getNode().equals(nodeId)) {
+            throw new UploadException(HttpStatus.CONFLICT,
+                    "Upload is held by another server; requests of one upload must reach the same server",
+                    session.getReceivedBytes());
+        }
+        return session;
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Set uploads.chunked.node-id; the host name is not resolvable", e);
+        }
+    }
+
+    private static String sha256Of(Path file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.medexjob.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,7 +15,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -40,4 +41,18 @@ public class CustomUserDetailsService implements UserDetailsService {
             authorities
         );
     }
-}
\ No newline at end of file
+
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        // Called by DaoAuthenticationProvider after a successful login when the stored
+        // hash uses a different BCrypt cost than the current encoder.
+        User user = userRepository.findByEmailAndIsActiveTrue(userDetails.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPasswordHash(newEncodedPassword);
+        userRepository.save(user);
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+            .password(newEncodedPassword)
+            .build();
+    }
+}
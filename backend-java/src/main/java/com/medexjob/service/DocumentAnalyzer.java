@@ -0,0 +1,268 @@
+package com.medexjob.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts what we know how to read from an uploaded document: real MIME type (from magic bytes,
+ * not the client's Content-Type), SHA-256, page count, plain text and a PNG thumbnail of page 1.
+ * PDFs are handled by PDFBox; DOCX text is read straight from {@code word/document.xml}.
+ */
+@Component
+public class DocumentAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentAnalyzer.class);
+
+    public static final String MIME_PDF = "application/pdf";
+    public static final String MIME_DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    public static final String MIME_DOC = "application/msword";
+    public static final String MIME_JPEG = "image/jpeg";
+    public static final String MIME_PNG = "image/png";
+    public static final String MIME_TEXT = "text/plain";
+    public static final String MIME_ZIP = "application/zip";
+    public static final String MIME_UNKNOWN = "application/octet-stream";
+
+    private static final Pattern DOCX_RUN_OR_PARAGRAPH = Pattern.compile("<w:t(?:\\s[^>]*)?>([^<]*)</w:t>|</w:p>");
+
+    @Value("${documents.processing.max-text-chars:200000}")
+    private int maxTextChars;
+
+    @Value("${documents.processing.thumbnail-width:240}")
+    private int thumbnailWidth;
+
+    @Value("${documents.processing.max-xml-bytes:20000000}")
+    private int maxXmlBytes;
+
+    @Value("${documents.processing.max-pages:50}")
+    private int maxPages;
+
+    @Value("${documents.processing.max-image-pixels:40000000}")
+    private long maxImagePixels;
+
+    /** The document expands beyond what we are willing to read; retrying will not help. */
+    public static class LimitExceededException extends IOException {
+        public LimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Analysis results. {@code text}, {@code pageCount} and {@code thumbnailPng} are null when
+     * the format does not provide them.
+     */
+    public static class Result {
+        public String mimeType;
+        public String sha256;
+        public long sizeBytes;
+        public Integer pageCount;
+        public String text;
+        public byte[] thumbnailPng;
+    }
+
+    public Result analyze(Path file) throws IOException {
+        Result result = new Result();
+        result.sizeBytes = Files.size(file);
+        result.sha256 = sha256Of(file);
+        result.mimeType = sniffMimeType(file);
+
+        switch (result.mimeType) {
+            case MIME_PDF -> analyzePdf(file, result);
+            case MIME_DOCX -> result.text = truncate(docxText(file));
+            case MIME_JPEG, MIME_PNG -> {
+                BufferedImage image = readImage(file);
+                if (image != null) {
+                    result.pageCount = 1;
+                    result.thumbnailPng = thumbnail(image);
+                }
+            }
+            case MIME_TEXT -> {
+                // A UTF-8 character is at most 4 bytes, so this is enough for maxTextChars
+                try (InputStream in = Files.newInputStream(file)) {
+                    result.text = truncate(new String(in.readNBytes(maxTextChars * 4), StandardCharsets.UTF_8));
+                }
+            }
+            default -> { /* nothing to extract */ }
+        }
+        return result;
+    }
+
+    // ---------------- MIME sniffing ----------------
+    public String sniffMimeType(Path file) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = in.readNBytes(512);
+        }
+        if (startsWith(head, '%', 'P', 'D', 'F', '-')) return MIME_PDF;
+        if (startsWith(head, 0xFF, 0xD8, 0xFF)) return MIME_JPEG;
+        if (startsWith(head, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return MIME_PNG;
+        if (startsWith(head, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)) return MIME_DOC;
+        if (startsWith(head, 'P', 'K', 0x03, 0x04)) {
+            try (ZipFile zip = new ZipFile(file.toFile())) {
+                return zip.getEntry("word/document.xml") != null ? MIME_DOCX : MIME_ZIP;
+            } catch (IOException e) {
+                return MIME_ZIP;
+            }
+        }
+        return looksLikeUtf8Text(head) ? MIME_TEXT : MIME_UNKNOWN;
+    }
+
+    private static boolean startsWith(byte[] data, int... magic) {
+        if (data.length < magic.length) return false;
+        for (int i = 0; i < magic.length; i++) {
+            if ((data[i] & 0xFF) != magic[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean looksLikeUtf8Text(byte[] head) {
+        if (head.length == 0) return false;
+        for (byte b : head) {
+            if (b == 0) return false;
+        }
+        try {
+            // The 512-byte window may cut a multi-byte character; only reject real garbage
+            StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(head, 0, Math.max(1, head.length - 3)));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    // ---------------- Formats ----------------
+    private void analyzePdf(Path file, Result result) throws IOException {
+        // Temp-file stream cache keeps large scanned PDFs off the heap
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            result.pageCount = document.getNumberOfPages();
+            if (result.pageCount == 0) return;
+
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setEndPage(Math.min(result.pageCount, maxPages));
+            result.text = truncate(stripper.getText(document));
+
+            PDFRenderer renderer = new PDFRenderer(document);
+            float widthPt = document.getPage(0).getMediaBox().getWidth();
+            float dpi = widthPt > 0 ? Math.min(72f, thumbnailWidth * 72f / widthPt) : 36f;
+            result.thumbnailPng = thumbnail(renderer.renderImageWithDPI(0, dpi, ImageType.RGB));
+        }
+    }
+
+    private String docxText(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("word/document.xml");
+            if (entry == null) return null;
+            String xml;
+            // The declared size of a zip entry can lie; stop at the cap while inflating
+            try (InputStream in = zip.getInputStream(entry)) {
+                byte[] bytes = in.readNBytes(maxXmlBytes);
+                if (bytes.length == maxXmlBytes && in.read() != -1) {
+                    throw new LimitExceededException("word/document.xml expands beyond " + maxXmlBytes + " bytes");
+                }
+                xml = new String(bytes, StandardCharsets.UTF_8);
+            }
+            StringBuilder text = new StringBuilder();
+            Matcher m = DOCX_RUN_OR_PARAGRAPH.matcher(xml);
+            while (m.find()) {
+                if (m.group(1) != null) {
+                    text.append(unescapeXml(m.group(1)));
+                } else {
+                    text.append('\n');
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    private static String unescapeXml(String s) {
+        return s.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    // Decodes only if the header's dimensions are within max-image-pixels; null for oversized or unreadable images
+    BufferedImage readImage(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxImagePixels) {
+                    logger.warn("Not decoding {}: {} pixels exceed the limit of {}", file.getFileName(), pixels, maxImagePixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private byte[] thumbnail(BufferedImage source) throws IOException {
+        int width = Math.min(thumbnailWidth, source.getWidth());
+        int height = Math.max(1, Math.round(source.getHeight() * (width / (float) source.getWidth())));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "png", out);
+        return out.toByteArray();
+    }
+
+    private String truncate(String text) {
+        if (text == null) return null;
+        String trimmed = text.strip();
+        return trimmed.length() > maxTextChars ? trimmed.substring(0, maxTextChars) : trimmed;
+    }
+
+    private static String sha256Of(Path file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.DocumentProcessingJob;
+
+import java.util.UUID;
+
+/**
+ * Published when a stored document has been analyzed and its extracted text saved, so consumers
+ * (e.g. resume search) can pick it up without polling.
+ */
+public class DocumentProcessedEvent {
+
+    private final UUID jobId;
+    private final String blobKey;
+    private final DocumentProcessingJob.DocumentSource source;
+
+    public DocumentProcessedEvent(UUID jobId, String blobKey, DocumentProcessingJob.DocumentSource source) {
+        this.jobId = jobId;
+        this.blobKey = blobKey;
+        this.source = source;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public String getBlobKey() {
+        return blobKey;
+    }
+
+    public DocumentProcessingJob.DocumentSource getSource() {
+        return source;
+    }
+}
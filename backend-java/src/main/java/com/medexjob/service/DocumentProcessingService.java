@@ -0,0 +1,277 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.DocumentProcessingJob;
+import com.medexjob.entity.DocumentProcessingJob.DocumentSource;
+import com.medexjob.entity.DocumentProcessingJob.ProcessingStatus;
+import com.medexjob.repository.DocumentProcessingJobRepository;
+import com.medexjob.storage.BlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background post-processing of uploaded documents (MIME sniffing, checksum, page count, text,
+ * page-1 thumbnail). Upload endpoints only {@link #enqueue} a row; the table is the durable queue
+ * and a small bounded pool does the work. The dispatcher claims no more jobs than the pool has
+ * room for, so a backlog waits in the database instead of in memory. Failures are retried with
+ * exponential backoff; jobs of a crashed node are recovered when their lease expires.
+ */
+@Service
+public class DocumentProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentProcessingService.class);
+
+    private final DocumentProcessingJobRepository jobRepository;
+    private final BlobStore blobStore;
+    private final DocumentAnalyzer documentAnalyzer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor executor;
+    private final Path workPath;
+
+    private final Timer processingTimer;
+    private final Counter succeededCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    @Value("${documents.processing.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${documents.processing.retry-backoff:PT30S}")
+    private Duration retryBackoff;
+
+    @Value("${documents.processing.lease:PT10M}")
+    private Duration lease;
+
+    public DocumentProcessingService(DocumentProcessingJobRepository jobRepository, BlobStore blobStore,
+                                     DocumentAnalyzer documentAnalyzer, ApplicationEventPublisher eventPublisher,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${file.upload-dir:uploads/}") String uploadDir,
+                                     @Value("${documents.processing.pool-size:2}") int poolSize,
+                                     @Value("${documents.processing.queue-capacity:50}") int queueCapacity) {
+        this.jobRepository = jobRepository;
+        this.blobStore = blobStore;
+        this.documentAnalyzer = documentAnalyzer;
+        this.eventPublisher = eventPublisher;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.workPath = Paths.get(uploadDir).resolve("tmp").resolve("processing");
+        try {
+            Files.createDirectories(workPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create document processing directory", e);
+        }
+
+        this.processingTimer = Timer.builder("documents.processing.latency")
+                .description("Time to analyze one document")
+                .register(meterRegistry);
+        this.succeededCounter = Counter.builder("documents.processing.completed").tag("outcome", "succeeded")
+                .description("Document processing attempts by outcome")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("documents.processing.completed").tag("outcome", "retried")
+                .description("Document processing attempts by outcome")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("documents.processing.completed").tag("outcome", "failed")
+                .description("Document processing attempts by outcome")
+                .register(meterRegistry);
+        Gauge.builder("documents.processing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Claimed documents waiting for a processing thread")
+                .register(meterRegistry);
+        Gauge.builder("documents.processing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Processing threads currently busy")
+                .register(meterRegistry);
+    }
+
+    // ---------------- Enqueue ----------------
+    /**
+     * Records that a blob needs processing; a single indexed insert, so upload endpoints pay no
+     * processing latency. Never throws: a missed enqueue must not fail the upload itself.
+     * Content-addressed resumes are immutable and processed once; other documents may be
+     * overwritten under the same key and are reprocessed.
+     */
+    public void enqueue(String blobKey, DocumentSource source) {
+        if (blobKey == null) return;
+        try {
+            Optional<DocumentProcessingJob> existing = jobRepository.findByBlobKey(blobKey);
+            if (existing.isPresent()) {
+                DocumentProcessingJob job = existing.get();
+                if (source == DocumentSource.RESUME) return;
+                job.setStatus(ProcessingStatus.PENDING);
+                job.setAttempts(0);
+                job.setNextAttemptAt(LocalDateTime.now());
+                job.setLastError(null);
+                jobRepository.save(job);
+                return;
+            }
+            jobRepository.save(new DocumentProcessingJob(blobKey, source));
+        } catch (DataIntegrityViolationException e) {
+            // Another request enqueued the same blob concurrently
+        } catch (RuntimeException e) {
+            logger.warn("Could not enqueue document {} for processing: {}", blobKey, e.getMessage());
+        }
+    }
+
+    // ---------------- Dispatcher ----------------
+    @Scheduled(fixedDelayString = "${documents.processing.poll-interval:PT5S}", initialDelayString = "PT30S")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        int recovered = jobRepository.recoverExpiredLeases(ProcessingStatus.RUNNING, ProcessingStatus.PENDING,
+                ProcessingStatus.FAILED, maxAttempts, now);
+        if (recovered > 0) {
+            logger.warn("Recovered {} document processing jobs with expired leases (re-queued, or failed after {} attempts)",
+                    recovered, maxAttempts);
+        }
+
+        // Backpressure: only take what the local queue can hold
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) return;
+
+        List<UUID> due = jobRepository.findDueIds(ProcessingStatus.PENDING, now, PageRequest.of(0, capacity));
+        for (UUID id : due) {
+            if (jobRepository.claim(id, ProcessingStatus.PENDING, ProcessingStatus.RUNNING, now.plus(lease)) == 0) {
+                continue; // claimed by another node
+            }
+            try {
+                executor.execute(() -> process(id));
+            } catch (RejectedExecutionException e) {
+                jobRepository.unclaim(id, ProcessingStatus.RUNNING, ProcessingStatus.PENDING);
+                return;
+            }
+        }
+    }
+
+    // ---------------- Worker ----------------
+    private void process(UUID id) {
+        DocumentProcessingJob job = jobRepository.findById(id).orElse(null);
+        if (job == null || job.getStatus() != ProcessingStatus.RUNNING) return;
+
+        Timer.Sample sample = Timer.start();
+        Path temp = null;
+        try {
+            Optional<Path> local = blobStore.localFile(job.getBlobKey());
+            Path file;
+            if (local.isPresent()) {
+                file = local.get();
+            } else {
+                temp = Files.createTempFile(workPath, "doc-", ".bin");
+                try (InputStream in = blobStore.get(job.getBlobKey())) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                file = temp;
+            }
+
+            DocumentAnalyzer.Result result = documentAnalyzer.analyze(file);
+            String thumbnailKey = null;
+            if (result.thumbnailPng != null) {
+                thumbnailKey = "thumbnails/" + result.sha256 + ".png";
+                blobStore.put(thumbnailKey, new ByteArrayInputStream(result.thumbnailPng),
+                        result.thumbnailPng.length, DocumentAnalyzer.MIME_PNG);
+            }
+            // Not save(job): merging the entity loaded above would re-insert a job deleted meanwhile
+            int updated = jobRepository.completeRun(id, ProcessingStatus.RUNNING, ProcessingStatus.SUCCEEDED,
+                    result.mimeType, result.sha256, result.sizeBytes, result.pageCount, thumbnailKey, result.text,
+                    LocalDateTime.now());
+            if (updated == 0) {
+                // Deleted or re-queued while we ran; an unreferenced thumbnail is removed by storage GC
+                logger.info("Dropping processing result for {}: job is no longer running", job.getBlobKey());
+                return;
+            }
+            succeededCounter.increment();
+
+            eventPublisher.publishEvent(new DocumentProcessedEvent(job.getId(), job.getBlobKey(), job.getSource()));
+        } catch (Exception e) {
+            handleFailure(job, e);
+        } finally {
+            sample.stop(processingTimer);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // swept with the rest of tmp/
+                }
+            }
+        }
+    }
+
+    private void handleFailure(DocumentProcessingJob job, Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        String lastError = message.length() > 500 ? message.substring(0, 500) : message;
+        LocalDateTime now = LocalDateTime.now();
+
+        // A missing blob (application deleted meanwhile) will not come back, and an oversized
+        // document will not shrink; don't retry them
+        boolean permanent = e instanceof NoSuchFileException || e instanceof DocumentAnalyzer.LimitExceededException
+                || job.getAttempts() >= maxAttempts;
+        ProcessingStatus next = permanent ? ProcessingStatus.FAILED : ProcessingStatus.PENDING;
+        LocalDateTime nextAttemptAt = permanent
+                ? job.getNextAttemptAt()
+                : now.plus(retryBackoff.multipliedBy(1L << Math.min(job.getAttempts() - 1, 10)));
+        try {
+            if (jobRepository.failRun(job.getId(), ProcessingStatus.RUNNING, next, lastError, nextAttemptAt, now) == 0) {
+                logger.info("Dropping processing failure for {}: job is no longer running", job.getBlobKey());
+                return;
+            }
+            if (permanent) {
+                failedCounter.increment();
+                logger.warn("Document processing failed permanently for {}: {}", job.getBlobKey(), message);
+            } else {
+                retriedCounter.increment();
+                logger.info("Document processing attempt {} failed for {}, will retry: {}",
+                        job.getAttempts(), job.getBlobKey(), message);
+            }
+        } catch (RuntimeException saveError) {
+            // The lease expires and the dispatcher re-queues the job
+            logger.warn("Could not record processing failure for {}: {}", job.getBlobKey(), saveError.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs are re-queued by lease expiry on the next start
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread t = new Thread(runnable, "document-processing-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package com.medexjob.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.medexjob.util.CsvWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out as CSV or NDJSON. Rows come from a repository {@link Stream} backed by
+ * a forward-only MySQL result set (see the fetch-size hints on the {@code streamForExport}
+ * queries), inside one read-only transaction, and are written as they are read. Entities are
+ * evicted from the persistence context as the export goes, so memory stays flat however many
+ * rows there are.
+ * <p>
+ * A client that disconnects shows up as a failed write; the export then stops, the result set
+ * and transaction are closed and nothing more is read.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Rows between persistence context clears
+    private static final int CLEAR_INTERVAL = 1000;
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /** {@code csv} or {@code ndjson} (case-insensitive); anything else is CSV. */
+        public static Format parse(String format) {
+            return "ndjson".equalsIgnoreCase(format) ? NDJSON : CSV;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public ExportService(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Writes every row of {@code rows} to {@code out}, mapped with {@code mapper} (an ordered map;
+     * for CSV its keys are the header). Returns the number of rows written.
+     */
+    public <T> long export(String name, Supplier<Stream<T>> rows, Function<T, Map<String, Object>> mapper,
+                           Format format, OutputStream out) {
+        Counter rowCounter = Counter.builder("exports.rows").tag("entity", name)
+                .description("Rows written by streaming exports")
+                .register(meterRegistry);
+        long start = System.currentTimeMillis();
+        long[] written = {0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                try (Stream<T> stream = rows.get()) {
+                    RowWriter rowWriter = format == Format.NDJSON ? ndjson(writer) : csv(writer);
+                    Iterator<T> it = stream.iterator();
+                    while (it.hasNext()) {
+                        T row = it.next();
+                        rowWriter.write(mapper.apply(row));
+                        entityManager.detach(row);
+                        if (++written[0] % CLEAR_INTERVAL == 0) {
+                            // Drops the associations fetched with the rows as well
+                            entityManager.clear();
+                        }
+                    }
+                    rowWriter.finish();
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            logger.info("{} export stopped after {} rows: client disconnected ({})", name, written[0], e.getCause().getMessage());
+            return written[0];
+        } finally {
+            rowCounter.increment(written[0]);
+        }
+        logger.info("{} export: {} rows in {} ms", name, written[0], System.currentTimeMillis() - start);
+        return written[0];
+    }
+
+    // ---------------- Writers ----------------
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Map<String, Object> row) throws IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    private RowWriter ndjson(Writer writer) throws IOException {
+        // No flush per row: output leaves through the generator's and writer's buffers
+        ObjectWriter objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return new RowWriter() {
+            @Override
+            public void write(Map<String, Object> row) throws IOException {
+                objectWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    private RowWriter csv(Writer writer) {
+        CsvWriter csv = new CsvWriter(writer);
+        return new RowWriter() {
+            private boolean headerWritten;
+
+            @Override
+            public void write(Map<String, Object> row) throws IOException {
+                if (!headerWritten) {
+                    csv.writeRecord(row.keySet());
+                    headerWritten = true;
+                }
+                csv.writeRecord(row.values());
+            }
+        };
+    }
+}
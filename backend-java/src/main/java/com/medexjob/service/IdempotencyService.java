@@ -0,0 +1,268 @@
+package com.medexjob.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medexjob.entity.IdempotencyKey;
+import com.medexjob.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * {@code Idempotency-Key} handling for creating endpoints. The first request with a key claims it
+ * in {@code idempotency_keys} (the claim is a single {@code INSERT IGNORE}, so two concurrent
+ * retries cannot both run); its response is stored and replayed to every retry until the key
+ * expires. Completed keys are also held in a bounded in-memory LRU, so retries usually don't
+ * reach the database.
+ * <p>
+ * Responses with a 5xx status and thrown exceptions release the key, so the client can retry for
+ * real. A key reused with a different request gets 422; a retry arriving while the first request
+ * is still running gets 409.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final TypeReference<Map<String, Object>> BODY_TYPE = new TypeReference<>() {};
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Counter replayedCounter;
+    private final Counter conflictCounter;
+
+    // Completed keys only, access-ordered
+    private final LinkedHashMap<String, IdempotencyKey> cache;
+
+    @Value("${idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${idempotency.in-progress-timeout:PT5M}")
+    private Duration inProgressTimeout;
+
+    @Value("${idempotency.sweep-batch-size:1000}")
+    private int sweepBatchSize;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.replayedCounter = Counter.builder("idempotency.replayed")
+                .description("Retried requests answered with the stored response")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("idempotency.conflicts")
+                .description("Requests refused because their key was in use or reused with a different request")
+                .register(meterRegistry);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyKey> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /** Stable hash of the request parameters, to detect a key reused for a different request. */
+    public static String fingerprint(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            sb.append(part).append('\u0000');
+        }
+        return sha256(sb.toString());
+    }
+
+    /** Synchronous variant of {@link #execute}. */
+    public ResponseEntity<Map<String, Object>> executeSync(String scope, String key, String caller, String fingerprint,
+                                                           Supplier<ResponseEntity<Map<String, Object>>> action) {
+        try {
+            return execute(scope, key, caller, fingerprint, () -> CompletableFuture.completedFuture(action.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@code action} once per {@code (scope, caller, key)}; retries get the stored response.
+     * Without a key the action simply runs.
+     */
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> execute(
+            String scope, String key, String caller, String fingerprint,
+            Supplier<CompletableFuture<ResponseEntity<Map<String, Object>>>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.completedFuture(error(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String keyHash = sha256(scope + '\u0000' + Objects.toString(caller, "") + '\u0000' + key);
+        Optional<ResponseEntity<Map<String, Object>>> previous = lookup(keyHash, fingerprint);
+        if (previous.isPresent()) {
+            return CompletableFuture.completedFuture(previous.get());
+        }
+
+        if (idempotencyKeyRepository.claim(keyHash, scope, fingerprint, LocalDateTime.now().plus(inProgressTimeout)) == 0) {
+            // Lost the race to a concurrent retry (or it completed in between)
+            return CompletableFuture.completedFuture(lookup(keyHash, fingerprint).orElseGet(this::inProgress));
+        }
+
+        CompletableFuture<ResponseEntity<Map<String, Object>>> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            release(keyHash);
+            throw e;
+        }
+        return result.whenComplete((response, ex) -> {
+            if (ex != null || response == null || response.getStatusCode().is5xxServerError()) {
+                release(keyHash);
+            } else {
+                store(keyHash, scope, fingerprint, response);
+            }
+        });
+    }
+
+    // Stored outcome for this key, if any; expired and abandoned claims are cleared
+    private Optional<ResponseEntity<Map<String, Object>>> lookup(String keyHash, String fingerprint) {
+        IdempotencyKey record;
+        synchronized (cache) {
+            record = cache.get(keyHash);
+        }
+        if (record == null) {
+            record = idempotencyKeyRepository.findById(keyHash).orElse(null);
+        }
+        if (record == null) return Optional.empty();
+        if (record.isExpired()) {
+            evict(keyHash);
+            release(keyHash);
+            return Optional.empty();
+        }
+
+        if (!record.getFingerprint().equals(fingerprint)) {
+            conflictCounter.increment();
+            return Optional.of(error(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request"));
+        }
+        if (record.getStatus() == IdempotencyKey.KeyStatus.IN_PROGRESS) {
+            return Optional.of(inProgress());
+        }
+
+        synchronized (cache) {
+            cache.put(keyHash, record);
+        }
+        replayedCounter.increment();
+        return Optional.of(ResponseEntity.status(record.getResponseStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(readBody(record.getResponseBody())));
+    }
+
+    private void store(String keyHash, String scope, String fingerprint, ResponseEntity<Map<String, Object>> response) {
+        try {
+            String body = response.getBody() != null ? objectMapper.writeValueAsString(response.getBody()) : null;
+            LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+            idempotencyKeyRepository.complete(keyHash, response.getStatusCode().value(), body, expiresAt);
+
+            IdempotencyKey record = new IdempotencyKey();
+            record.setKeyHash(keyHash);
+            record.setScope(scope);
+            record.setFingerprint(fingerprint);
+            record.setStatus(IdempotencyKey.KeyStatus.COMPLETED);
+            record.setResponseStatus(response.getStatusCode().value());
+            record.setResponseBody(body);
+            record.setExpiresAt(expiresAt);
+            synchronized (cache) {
+                cache.put(keyHash, record);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The request itself succeeded; a retry now runs again instead of replaying
+            logger.warn("Could not store idempotent response for scope {}: {}", scope, e.getMessage());
+            release(keyHash);
+        }
+    }
+
+    private void release(String keyHash) {
+        try {
+            idempotencyKeyRepository.release(keyHash);
+        } catch (RuntimeException e) {
+            // The claim times out after in-progress-timeout
+            logger.warn("Could not release idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private void evict(String keyHash) {
+        synchronized (cache) {
+            cache.remove(keyHash);
+        }
+    }
+
+    private Map<String, Object> readBody(String body) {
+        if (body == null) return null;
+        try {
+            return objectMapper.readValue(body, BODY_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not valid JSON", e);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> inProgress() {
+        conflictCounter.increment();
+        return error(HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", message);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    // ---------------- Sweeper ----------------
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval:PT1H}", initialDelayString = "PT2M")
+    public void sweepExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpiredBatch(now, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+
+        synchronized (cache) {
+            cache.values().removeIf(IdempotencyKey::isExpired);
+        }
+        if (total > 0) {
+            logger.info("Removed {} expired idempotency keys", total);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
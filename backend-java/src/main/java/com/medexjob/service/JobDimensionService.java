@@ -0,0 +1,213 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.DimensionValue;
+import com.medexjob.entity.Job;
+import com.medexjob.entity.Location;
+import com.medexjob.entity.Speciality;
+import com.medexjob.repository.LocationRepository;
+import com.medexjob.repository.SpecialityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Lookup tables for the free-text job attributes location and speciality. On write a job's value
+ * is canonicalized (trimmed, single-spaced, matched case-insensitively against the table, which
+ * gets a new entry if needed) and its id stored next to the text, so filters and the meta
+ * endpoint work on indexed integer ids instead of {@code LOWER(...) LIKE} scans.
+ * <p>
+ * Both tables are small and kept in memory as name→id maps: a text filter becomes the set of
+ * ids whose name contains it, and writes only reach the database for values not seen before.
+ * Entries created on other nodes are picked up by the periodic refresh, or on the write path
+ * when the same value is written here.
+ */
+@Service
+public class JobDimensionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobDimensionService.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Dictionary<Location> locations;
+    private final Dictionary<Speciality> specialities;
+
+    public JobDimensionService(LocationRepository locationRepository, SpecialityRepository specialityRepository,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        // New entries commit on their own: a unique-key race must not roll back the caller's transaction
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.locations = new Dictionary<>("location", locationRepository,
+                locationRepository::findByNormalizedName, Location::new, requiresNew, meterRegistry);
+        this.specialities = new Dictionary<>("speciality", specialityRepository,
+                specialityRepository::findByNormalizedName, Speciality::new, requiresNew, meterRegistry);
+    }
+
+    /** Replaces the job's location and speciality with their canonical spelling and sets their ids. */
+    public void canonicalize(Job job) {
+        Integer locationId = locations.resolve(job.getLocation());
+        job.setLocationId(locationId);
+        if (locationId != null) job.setLocation(locations.name(locationId));
+
+        Integer specialityId = specialities.resolve(job.getSpeciality());
+        job.setSpecialityId(specialityId);
+        if (specialityId != null) job.setSpeciality(specialities.name(specialityId));
+    }
+
+    /** Ids of the locations containing {@code text} (ignoring case and spacing); null if text is blank. */
+    public Set<Integer> matchingLocationIds(String text) {
+        return locations.matching(text);
+    }
+
+    /** Ids of the specialities containing {@code text} (ignoring case and spacing); null if text is blank. */
+    public Set<Integer> matchingSpecialityIds(String text) {
+        return specialities.matching(text);
+    }
+
+    public String locationName(Integer id) {
+        return locations.name(id);
+    }
+
+    public String specialityName(Integer id) {
+        return specialities.name(id);
+    }
+
+    // Entries are never deleted, so a refresh only adds the ones created on other nodes
+    @Scheduled(fixedDelayString = "${jobs.dimensions.refresh-interval:PT5M}", initialDelayString = "PT5M")
+    public void refresh() {
+        locations.load();
+        specialities.load();
+    }
+
+    /** Trimmed, with runs of whitespace collapsed to one space; null if nothing is left. */
+    static String clean(String raw) {
+        if (raw == null) return null;
+        String s = WHITESPACE.matcher(raw.trim()).replaceAll(" ");
+        return s.isEmpty() ? null : s;
+    }
+
+    static String normalize(String raw) {
+        String s = clean(raw);
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+
+    // ---------------- One lookup table ----------------
+
+    private static final class Dictionary<E extends DimensionValue> {
+
+        private final String dimension;
+        private final JpaRepository<E, Integer> repository;
+        private final Function<String, Optional<E>> findByNormalizedName;
+        private final Supplier<E> factory;
+        private final TransactionTemplate requiresNew;
+        private final Counter createdCounter;
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<Integer, String> names = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+
+        Dictionary(String dimension, JpaRepository<E, Integer> repository, Function<String, Optional<E>> findByNormalizedName,
+                   Supplier<E> factory, TransactionTemplate requiresNew, MeterRegistry meterRegistry) {
+            this.dimension = dimension;
+            this.repository = repository;
+            this.findByNormalizedName = findByNormalizedName;
+            this.factory = factory;
+            this.requiresNew = requiresNew;
+            this.createdCounter = Counter.builder("jobs.dimension.created").tag("dimension", dimension)
+                    .description("Lookup table entries created for new values")
+                    .register(meterRegistry);
+            Gauge.builder("jobs.dimension.size", ids, Map::size).tag("dimension", dimension)
+                    .description("Distinct values known to this node (spellings included)")
+                    .register(meterRegistry);
+        }
+
+        Integer resolve(String raw) {
+            String name = clean(raw);
+            if (name == null) return null;
+            String key = name.toLowerCase(Locale.ROOT);
+            ensureLoaded();
+            Integer id = ids.get(key);
+            if (id != null) return id;
+
+            E entry;
+            try {
+                entry = requiresNew.execute(status -> findOrCreate(key, name));
+            } catch (DataIntegrityViolationException e) {
+                // Inserted concurrently (here or on another node): it is there now
+                entry = requiresNew.execute(status -> findByNormalizedName.apply(key).orElseThrow(() -> e));
+            }
+            put(entry);
+            // The table may have matched a different spelling of the key (collation), remember ours too
+            ids.put(key, entry.getId());
+            return entry.getId();
+        }
+
+        private E findOrCreate(String key, String name) {
+            return findByNormalizedName.apply(key).orElseGet(() -> {
+                E e = factory.get();
+                e.setName(name);
+                e.setNormalizedName(key);
+                E saved = repository.saveAndFlush(e);
+                createdCounter.increment();
+                logger.debug("New {} '{}' (id {})", dimension, name, saved.getId());
+                return saved;
+            });
+        }
+
+        Set<Integer> matching(String text) {
+            String needle = normalize(text);
+            if (needle == null) return null;
+            ensureLoaded();
+            Set<Integer> result = new HashSet<>();
+            for (Map.Entry<String, Integer> e : ids.entrySet()) {
+                if (e.getKey().contains(needle)) result.add(e.getValue());
+            }
+            return result;
+        }
+
+        String name(Integer id) {
+            if (id == null) return null;
+            String name = names.get(id);
+            if (name == null) {
+                // Created on another node since the last refresh
+                repository.findById(id).ifPresent(this::put);
+                name = names.get(id);
+            }
+            return name;
+        }
+
+        void load() {
+            List<E> all = repository.findAll();
+            all.forEach(this::put);
+            loaded = true;
+            logger.debug("Loaded {} {} entries", all.size(), dimension);
+        }
+
+        private void ensureLoaded() {
+            if (!loaded) {
+                synchronized (this) {
+                    if (!loaded) load();
+                }
+            }
+        }
+
+        private void put(E entry) {
+            names.put(entry.getId(), entry.getName());
+            ids.put(entry.getNormalizedName(), entry.getId());
+        }
+    }
+}
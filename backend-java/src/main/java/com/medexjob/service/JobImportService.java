@@ -0,0 +1,232 @@
+package com.medexjob.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medexjob.entity.Job;
+import com.medexjob.repository.JobRepository;
+import com.medexjob.util.CsvReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk job import from NDJSON (one JSON object per line) or CSV (header row with the field
+ * names). The body is parsed as a stream and jobs are inserted in chunks, one transaction per
+ * chunk; with {@code hibernate.jdbc.batch_size} set, each chunk goes to MySQL as a few batched
+ * multi-row inserts rather than one round trip per job.
+ * <p>
+ * A bad row never aborts the import: rows that fail to parse or validate are reported with their
+ * line number, and a chunk the database refuses is retried row by row so only the offending rows
+ * are lost.
+ */
+@Service
+public class JobImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobImportService.class);
+
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    public enum Format { NDJSON, CSV }
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+    private final Timer chunkTimer;
+
+    @Value("${jobs.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${jobs.import.max-errors:1000}")
+    private int maxErrors;
+
+    public JobImportService(JobRepository jobRepository, ObjectMapper objectMapper, Validator validator,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.importedCounter = Counter.builder("jobs.import.rows").tag("outcome", "imported")
+                .description("Bulk-imported job rows by outcome")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("jobs.import.rows").tag("outcome", "failed")
+                .description("Bulk-imported job rows by outcome")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("jobs.import.chunk")
+                .description("Time to insert one chunk of imported jobs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports every row of {@code in}. {@code mapper} turns a row's fields into an unsaved job and
+     * throws {@link IllegalArgumentException} for rows it cannot map; it runs outside the chunk
+     * transactions. Returns a report with the imported and failed counts and per-row errors.
+     */
+    public Map<String, Object> importJobs(InputStream in, Format format,
+                                          Function<Map<String, Object>, Job> mapper) throws IOException {
+        long start = System.currentTimeMillis();
+        Report report = new Report();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            readCsv(reader, mapper, chunk, report);
+        } else {
+            readNdjson(reader, mapper, chunk, report);
+        }
+        flush(chunk, report);
+
+        long durationMs = System.currentTimeMillis() - start;
+        logger.info("Job import: {} imported, {} failed in {} ms", report.imported, report.failed, durationMs);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("imported", report.imported);
+        body.put("failed", report.failed);
+        body.put("errors", report.errors);
+        body.put("errorsTruncated", report.failed > report.errors.size());
+        body.put("durationMs", durationMs);
+        return body;
+    }
+
+    // ---------------- Parsing ----------------
+    private void readNdjson(BufferedReader reader, Function<Map<String, Object>, Job> mapper,
+                            List<Row> chunk, Report report) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            Map<String, Object> fields;
+            try {
+                fields = objectMapper.readValue(line, ROW_TYPE);
+            } catch (JsonProcessingException e) {
+                report.fail(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            add(lineNumber, fields, mapper, chunk, report);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Function<Map<String, Object>, Job> mapper,
+                         List<Row> chunk, Report report) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) return;
+        header = header.stream().map(String::trim).collect(Collectors.toList());
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            long lineNumber = csv.getRecordLine();
+            if (record.size() != header.size()) {
+                report.fail(lineNumber, "Expected " + header.size() + " fields but found " + record.size());
+                continue;
+            }
+            Map<String, Object> fields = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                // Empty cells are absent values, so the mapper's defaults apply
+                String value = record.get(i);
+                if (!value.isEmpty()) fields.put(header.get(i), value);
+            }
+            add(lineNumber, fields, mapper, chunk, report);
+        }
+    }
+
+    private void add(long lineNumber, Map<String, Object> fields, Function<Map<String, Object>, Job> mapper,
+                     List<Row> chunk, Report report) {
+        Job job;
+        try {
+            job = mapper.apply(fields);
+        } catch (IllegalArgumentException e) {
+            report.fail(lineNumber, e.getMessage());
+            return;
+        }
+        List<String> violations = validator.validate(job).stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+        if (!violations.isEmpty()) {
+            report.fail(lineNumber, String.join("; ", violations));
+            return;
+        }
+        chunk.add(new Row(lineNumber, job));
+        if (chunk.size() >= chunkSize) {
+            flush(chunk, report);
+        }
+    }
+
+    // ---------------- Persistence ----------------
+    private void flush(List<Row> chunk, Report report) {
+        if (chunk.isEmpty()) return;
+        try {
+            chunkTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.saveAll(chunk.stream().map(Row::job).collect(Collectors.toList()))));
+            report.imported(chunk.size());
+        } catch (RuntimeException e) {
+            logger.warn("Job import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            for (Row row : chunk) {
+                // The rolled-back insert left a generated id behind; without it the row is new again
+                row.job().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jobRepository.save(row.job()));
+                    report.imported(1);
+                } catch (RuntimeException rowError) {
+                    report.fail(row.line(), rootMessage(rowError));
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private record Row(long line, Job job) {}
+
+    private class Report {
+        private long imported;
+        private long failed;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void imported(int rows) {
+            imported += rows;
+            importedCounter.increment(rows);
+        }
+
+        void fail(long line, String error) {
+            failed++;
+            failedCounter.increment();
+            if (errors.size() < maxErrors) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("line", line);
+                entry.put("error", error);
+                errors.add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.Job;
+import com.medexjob.repository.JobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Moves jobs through their lifecycle on a schedule instead of waiting for an admin:
+ * ACTIVE jobs whose last date has passed are CLOSED, and PENDING/DRAFT jobs whose publish time has
+ * come (and whose last date has not passed) become ACTIVE. This keeps the ACTIVE set, which every
+ * listing reads, down to jobs that can still be applied to.
+ * <p>
+ * Each batch is one transaction: the ids are selected {@code FOR UPDATE SKIP LOCKED}, so all nodes
+ * can run this concurrently without handling a job twice, then changed with one {@code UPDATE}.
+ * After commit, other nodes are told to drop their cached job query results (the bulk update
+ * raises no entity events) and a {@link JobStatusChangedEvent} is published.
+ */
+@Service
+public class JobLifecycleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLifecycleService.class);
+
+    private static final List<Job.JobStatus> PUBLISHABLE = List.of(Job.JobStatus.PENDING, Job.JobStatus.DRAFT);
+
+    private final JobRepository jobRepository;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter closedCounter;
+    private final Counter publishedCounter;
+
+    @Value("${jobs.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    public JobLifecycleService(JobRepository jobRepository, SecondLevelCacheService secondLevelCacheService,
+                               ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.secondLevelCacheService = secondLevelCacheService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.closedCounter = Counter.builder("jobs.lifecycle.transitions").tag("status", "closed")
+                .description("Jobs moved to a new status by the lifecycle scheduler")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("jobs.lifecycle.transitions").tag("status", "active")
+                .description("Jobs moved to a new status by the lifecycle scheduler")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.lifecycle.interval:PT1M}", initialDelayString = "PT30S")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        int published = transition(Job.JobStatus.ACTIVE, publishedCounter,
+                pageable -> jobRepository.lockDueForPublishingIds(PUBLISHABLE, now, today, pageable));
+        int closed = transition(Job.JobStatus.CLOSED, closedCounter,
+                pageable -> jobRepository.lockExpiredIds(Job.JobStatus.ACTIVE, today, pageable));
+        if (published > 0 || closed > 0) {
+            logger.info("Job lifecycle: {} published, {} closed", published, closed);
+        }
+    }
+
+    // Batches until a short one; changed rows no longer match the selection, so no paging is needed
+    private int transition(Job.JobStatus target, Counter counter, Function<PageRequest, List<UUID>> lockBatch) {
+        int total = 0;
+        List<UUID> ids;
+        do {
+            ids = transactionTemplate.execute(status -> {
+                List<UUID> batch = lockBatch.apply(PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    jobRepository.updateStatus(batch, target, LocalDateTime.now());
+                }
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) break;
+
+            total += ids.size();
+            counter.increment(ids.size());
+            secondLevelCacheService.publishBulkChange(Job.class);
+            eventPublisher.publishEvent(new JobStatusChangedEvent(ids, target));
+        } while (ids.size() == batchSize);
+        return total;
+    }
+}
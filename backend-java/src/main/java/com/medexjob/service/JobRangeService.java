@@ -0,0 +1,101 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.Job;
+import com.medexjob.repository.JobRepository;
+import com.medexjob.util.RangeParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Numeric salary and experience ranges of jobs (see {@link RangeParser}), kept next to the text
+ * so the job list can filter on indexed integer columns. Set on every write; the backfill
+ * fills in rows written before the columns existed, and re-parses all rows after
+ * {@link RangeParser#VERSION} is bumped.
+ */
+@Service
+public class JobRangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobRangeService.class);
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter backfilledCounter;
+    private final Counter unparsedCounter;
+
+    @Value("${jobs.ranges.backfill-batch-size:500}")
+    private int batchSize;
+
+    public JobRangeService(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfilledCounter = Counter.builder("jobs.ranges.backfilled")
+                .description("Jobs whose numeric ranges were (re)computed by the backfill")
+                .register(meterRegistry);
+        this.unparsedCounter = Counter.builder("jobs.ranges.unparsed")
+                .description("Salary or experience texts written without a usable number")
+                .register(meterRegistry);
+    }
+
+    /** Parses the job's salary and experience text into its numeric range columns. */
+    public void apply(Job job) {
+        RangeParser.Range salary = RangeParser.salary(job.getSalaryRange());
+        RangeParser.Range experience = RangeParser.experienceMonths(job.getExperience());
+        if ((salary.isEmpty() && job.getSalaryRange() != null) || experience.isEmpty()) {
+            unparsedCounter.increment();
+        }
+        job.setSalaryMin(salary.min());
+        job.setSalaryMax(salary.max());
+        job.setExperienceMinMonths(experience.min());
+        job.setExperienceMaxMonths(experience.max());
+        job.setRangeParserVersion(RangeParser.VERSION);
+    }
+
+    // ---------------- Backfill ----------------
+    // Once everything is at the current version this is a single query that finds nothing
+    @Scheduled(fixedDelayString = "${jobs.ranges.backfill-interval:PT6H}", initialDelayString = "PT1M")
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        UUID after = new UUID(0, 0);
+        int total = 0;
+        List<JobRepository.RangeRow> page;
+        do {
+            page = jobRepository.findRangeBackfillRows(RangeParser.VERSION, after, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) break;
+            List<JobRepository.RangeRow> rows = page;
+            // One transaction per page. The page is read outside it, so updateRanges leaves out jobs
+            // that were saved (and parsed at this version) in between, instead of restoring their old text's ranges
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (JobRepository.RangeRow row : rows) {
+                    RangeParser.Range salary = RangeParser.salary(row.getSalaryRange());
+                    RangeParser.Range experience = RangeParser.experienceMonths(row.getExperience());
+                    count += jobRepository.updateRanges(row.getId(), salary.min(), salary.max(),
+                            experience.min(), experience.max(), RangeParser.VERSION);
+                }
+                return count;
+            });
+            if (updated != null) {
+                total += updated;
+                backfilledCounter.increment(updated);
+            }
+            after = page.get(page.size() - 1).getId();
+        } while (page.size() == batchSize);
+
+        if (total > 0) {
+            logger.info("Parsed salary/experience ranges of {} jobs (parser version {}) in {} ms",
+                    total, RangeParser.VERSION, System.currentTimeMillis() - start);
+        }
+    }
+}
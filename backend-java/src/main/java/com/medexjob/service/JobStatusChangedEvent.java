@@ -0,0 +1,30 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.Job;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published after {@link JobLifecycleService} has committed a batch of status changes: jobs closed
+ * because their last date passed, or published because their publish time came.
+ */
+public class JobStatusChangedEvent {
+
+    private final List<UUID> jobIds;
+    private final Job.JobStatus status;
+
+    public JobStatusChangedEvent(List<UUID> jobIds, Job.JobStatus status) {
+        this.jobIds = List.copyOf(jobIds);
+        this.status = status;
+    }
+
+    public List<UUID> getJobIds() {
+        return jobIds;
+    }
+
+    /** The status the jobs now have. */
+    public Job.JobStatus getStatus() {
+        return status;
+    }
+}
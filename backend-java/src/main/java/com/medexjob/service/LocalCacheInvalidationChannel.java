@@ -0,0 +1,18 @@
+package com.medexjob.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-node channel ({@code cache.invalidation.channel=local}): nothing to tell, the local cache
+ * is kept consistent by Hibernate itself.
+ */
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    @Override
+    public void publish(Invalidation invalidation) {
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+    }
+}
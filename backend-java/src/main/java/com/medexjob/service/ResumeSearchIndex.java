@@ -0,0 +1,349 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.DocumentProcessingJob;
+import com.medexjob.repository.ApplicationRepository;
+import com.medexjob.repository.DocumentProcessingJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over applicants' resume text (plus candidate name), one index per job.
+ * Postings keep token positions so quoted phrases can be matched; results are ranked with BM25.
+ * <p>
+ * A job's index is built on its first search from the extracted text saved by the document
+ * pipeline, then kept up to date incrementally (new applications, deletions, newly processed
+ * resumes). Only the most recently searched {@code max-jobs} indexes are kept; indexes older than
+ * {@code max-age} are rebuilt so that other nodes' writes are eventually picked up.
+ */
+@Service
+public class ResumeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeSearchIndex.class);
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern QUERY_CLAUSE = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+
+    // BM25 parameters (the usual defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    private final ApplicationRepository applicationRepository;
+    private final DocumentProcessingJobRepository documentProcessingJobRepository;
+    private final Duration maxAge;
+
+    // Access-ordered, so iteration order is least recently searched first
+    private final LinkedHashMap<UUID, JobIndex> indexes;
+
+    public ResumeSearchIndex(ApplicationRepository applicationRepository,
+                             DocumentProcessingJobRepository documentProcessingJobRepository,
+                             @Value("${search.resume-index.max-jobs:200}") int maxJobs,
+                             @Value("${search.resume-index.max-age:PT10M}") Duration maxAge) {
+        this.applicationRepository = applicationRepository;
+        this.documentProcessingJobRepository = documentProcessingJobRepository;
+        this.maxAge = maxAge;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, JobIndex> eldest) {
+                return size() > maxJobs;
+            }
+        };
+    }
+
+    /** Application id with its relevance score. */
+    public static class Hit {
+        private final UUID applicationId;
+        private final double score;
+
+        Hit(UUID applicationId, double score) {
+            this.applicationId = applicationId;
+            this.score = score;
+        }
+
+        public UUID getApplicationId() {
+            return applicationId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    // ---------------- Search ----------------
+    /**
+     * Applicants of the job matching every clause of the query, best first. Clauses are
+     * whitespace-separated terms or {@code "quoted phrases"}.
+     */
+    public List<Hit> search(UUID jobId, String query) {
+        List<String[]> clauses = parseQuery(query);
+        if (clauses.isEmpty()) return List.of();
+        return indexFor(jobId).search(clauses);
+    }
+
+    static List<String[]> parseQuery(String query) {
+        List<String[]> clauses = new ArrayList<>();
+        if (query == null) return clauses;
+        Matcher m = QUERY_CLAUSE.matcher(query);
+        while (m.find()) {
+            String text = m.group(1) != null ? m.group(1) : m.group(2);
+            List<String> tokens = tokenize(text);
+            if (!tokens.isEmpty()) {
+                clauses.add(tokens.toArray(new String[0]));
+            }
+        }
+        return clauses;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLIT.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    // ---------------- Incremental updates ----------------
+    public void applicationAdded(UUID applicationId, UUID jobId, String candidateName, String resumeUrl) {
+        JobIndex index = loadedIndex(jobId);
+        if (index == null) return; // built with this application on first search
+        index.put(applicationId, documentText(candidateName, textOf(resumeUrl)));
+    }
+
+    public void applicationRemoved(UUID applicationId, UUID jobId) {
+        JobIndex index = loadedIndex(jobId);
+        if (index != null) index.remove(applicationId);
+    }
+
+    @EventListener
+    public void onDocumentProcessed(DocumentProcessedEvent event) {
+        if (event.getSource() != DocumentProcessingJob.DocumentSource.RESUME) return;
+        String resumeUrl = URL_PREFIX + event.getBlobKey();
+        String text = null;
+        boolean loaded = false;
+        for (ApplicationRepository.IndexRow row : applicationRepository.findIndexRowsByResumeUrl(resumeUrl)) {
+            JobIndex index = loadedIndex(row.getJobId());
+            if (index == null) continue;
+            if (!loaded) {
+                text = textOf(resumeUrl);
+                loaded = true;
+            }
+            index.put(row.getId(), documentText(row.getCandidateName(), text));
+        }
+    }
+
+    // ---------------- Index lifecycle ----------------
+    private JobIndex loadedIndex(UUID jobId) {
+        synchronized (indexes) {
+            JobIndex index = indexes.get(jobId);
+            return index != null && !index.isStale() ? index : null;
+        }
+    }
+
+    private JobIndex indexFor(UUID jobId) {
+        JobIndex index = loadedIndex(jobId);
+        if (index != null) return index;
+
+        // Build outside the lock so one large job does not stall searches on others
+        JobIndex built = build(jobId);
+        synchronized (indexes) {
+            JobIndex current = indexes.get(jobId);
+            if (current != null && !current.isStale()) return current;
+            indexes.put(jobId, built);
+            return built;
+        }
+    }
+
+    private JobIndex build(UUID jobId) {
+        long start = System.nanoTime();
+        List<ApplicationRepository.IndexRow> rows = applicationRepository.findIndexRowsByJobId(jobId);
+
+        Set<String> blobKeys = new HashSet<>();
+        for (ApplicationRepository.IndexRow row : rows) {
+            String key = ResumeStorageService.blobKeyOf(row.getResumeUrl());
+            if (key != null) blobKeys.add(key);
+        }
+        Map<String, String> texts = new HashMap<>();
+        if (!blobKeys.isEmpty()) {
+            for (DocumentProcessingJobRepository.ExtractedText t : documentProcessingJobRepository
+                    .findExtractedText(blobKeys, DocumentProcessingJob.ProcessingStatus.SUCCEEDED)) {
+                texts.put(t.getBlobKey(), t.getExtractedText());
+            }
+        }
+
+        JobIndex index = new JobIndex(System.nanoTime() + maxAge.toNanos());
+        for (ApplicationRepository.IndexRow row : rows) {
+            String key = ResumeStorageService.blobKeyOf(row.getResumeUrl());
+            index.put(row.getId(), documentText(row.getCandidateName(), key != null ? texts.get(key) : null));
+        }
+        logger.debug("Built resume index for job {}: {} applications in {} ms",
+                jobId, rows.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private String textOf(String resumeUrl) {
+        String key = ResumeStorageService.blobKeyOf(resumeUrl);
+        if (key == null) return null;
+        List<DocumentProcessingJobRepository.ExtractedText> texts = documentProcessingJobRepository
+                .findExtractedText(List.of(key), DocumentProcessingJob.ProcessingStatus.SUCCEEDED);
+        return texts.isEmpty() ? null : texts.get(0).getExtractedText();
+    }
+
+    private static String documentText(String candidateName, String resumeText) {
+        return resumeText == null ? candidateName : candidateName + "\n" + resumeText;
+    }
+
+    // ---------------- Per-job index ----------------
+    private static final class JobIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // term -> (application -> ascending token positions)
+        private final Map<String, Map<UUID, int[]>> postings = new HashMap<>();
+        private final Map<UUID, Integer> docLengths = new HashMap<>();
+        private long totalLength;
+        private final long expiresAtNanos;
+
+        JobIndex(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+
+        void put(UUID docId, String text) {
+            Map<String, List<Integer>> positions = new HashMap<>();
+            List<String> tokens = tokenize(text);
+            for (int i = 0; i < tokens.size(); i++) {
+                positions.computeIfAbsent(tokens.get(i), t -> new ArrayList<>()).add(i);
+            }
+
+            lock.writeLock().lock();
+            try {
+                removeLocked(docId);
+                for (Map.Entry<String, List<Integer>> e : positions.entrySet()) {
+                    postings.computeIfAbsent(e.getKey(), t -> new HashMap<>())
+                            .put(docId, e.getValue().stream().mapToInt(Integer::intValue).toArray());
+                }
+                docLengths.put(docId, tokens.size());
+                totalLength += tokens.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(UUID docId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(docId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(UUID docId) {
+            Integer length = docLengths.remove(docId);
+            if (length == null) return;
+            totalLength -= length;
+            // Scans the vocabulary instead of keeping per-document term lists; re-indexing and
+            // removals are rare compared to searches
+            postings.values().removeIf(docs -> docs.remove(docId) != null && docs.isEmpty());
+        }
+
+        List<Hit> search(List<String[]> clauses) {
+            lock.readLock().lock();
+            try {
+                int n = docLengths.size();
+                if (n == 0) return List.of();
+                double avgLength = Math.max(1.0, (double) totalLength / n);
+
+                // Frequencies of every clause per matching document; a document must match all clauses
+                Map<UUID, double[]> frequencies = null;
+                double[] idf = new double[clauses.size()];
+                for (int c = 0; c < clauses.size(); c++) {
+                    Map<UUID, Integer> matches = match(clauses.get(c));
+                    if (matches.isEmpty()) return List.of();
+                    idf[c] = Math.log(1 + (n - matches.size() + 0.5) / (matches.size() + 0.5));
+
+                    if (frequencies == null) {
+                        frequencies = new HashMap<>();
+                        for (Map.Entry<UUID, Integer> e : matches.entrySet()) {
+                            double[] tf = new double[clauses.size()];
+                            tf[c] = e.getValue();
+                            frequencies.put(e.getKey(), tf);
+                        }
+                    } else {
+                        final int clause = c;
+                        frequencies.entrySet().removeIf(e -> {
+                            Integer tf = matches.get(e.getKey());
+                            if (tf == null) return true;
+                            e.getValue()[clause] = tf;
+                            return false;
+                        });
+                        if (frequencies.isEmpty()) return List.of();
+                    }
+                }
+
+                List<Hit> hits = new ArrayList<>(frequencies.size());
+                for (Map.Entry<UUID, double[]> e : frequencies.entrySet()) {
+                    double lengthNorm = 1 - B + B * docLengths.get(e.getKey()) / avgLength;
+                    double score = 0;
+                    for (int c = 0; c < idf.length; c++) {
+                        double tf = e.getValue()[c];
+                        score += idf[c] * tf * (K1 + 1) / (tf + K1 * lengthNorm);
+                    }
+                    hits.add(new Hit(e.getKey(), score));
+                }
+                hits.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+                return hits;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Documents containing the term or phrase, with the number of occurrences
+        private Map<UUID, Integer> match(String[] clause) {
+            Map<UUID, int[]> first = postings.get(clause[0]);
+            if (first == null) return Map.of();
+            Map<UUID, Integer> result = new HashMap<>();
+            if (clause.length == 1) {
+                first.forEach((doc, positions) -> result.put(doc, positions.length));
+                return result;
+            }
+
+            List<Map<UUID, int[]>> rest = new ArrayList<>(clause.length - 1);
+            for (int i = 1; i < clause.length; i++) {
+                Map<UUID, int[]> p = postings.get(clause[i]);
+                if (p == null) return Map.of();
+                rest.add(p);
+            }
+            for (Map.Entry<UUID, int[]> e : first.entrySet()) {
+                UUID doc = e.getKey();
+                int occurrences = 0;
+                for (int start : e.getValue()) {
+                    boolean matched = true;
+                    for (int i = 0; i < rest.size() && matched; i++) {
+                        int[] positions = rest.get(i).get(doc);
+                        matched = positions != null && Arrays.binarySearch(positions, start + i + 1) >= 0;
+                    }
+                    if (matched) occurrences++;
+                }
+                if (occurrences > 0) result.put(doc, occurrences);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.medexjob.service;
+
+import com.medexjob.repository.DocumentProcessingJobRepository;
+import com.medexjob.repository.StoredFileRepository;
+import com.medexjob.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed resume storage. Uploads are hashed while they are streamed to a temp file and
+ * stored once in the {@link BlobStore} under {@code resumes/ab/cd/<sha256>}, so a candidate applying
+ * to many jobs with the same CV costs one blob. References are counted in {@code stored_files}; the
+ * blob is removed when the last application using it is deleted.
+ */
+@Service
+public class ResumeStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeStorageService.class);
+
+    private static final String URL_PREFIX = "/uploads/";
+    private static final Pattern RESUME_URL = Pattern.compile("^/uploads/resumes/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})$");
+
+    private final StoredFileRepository storedFileRepository;
+    private final BlobStore blobStore;
+    private final DocumentProcessingJobRepository documentProcessingJobRepository;
+    private final Path tempPath;
+
+    public ResumeStorageService(StoredFileRepository storedFileRepository, BlobStore blobStore,
+                                DocumentProcessingJobRepository documentProcessingJobRepository,
+                                @Value("${file.upload-dir:uploads/}") String uploadDir) {
+        this.storedFileRepository = storedFileRepository;
+        this.blobStore = blobStore;
+        this.documentProcessingJobRepository = documentProcessingJobRepository;
+        // Uploads are always hashed on local disk first, whatever the blob store is
+        this.tempPath = Paths.get(uploadDir).resolve("tmp");
+        try {
+            Files.createDirectories(tempPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload directory", e);
+        }
+    }
+
+    /**
+     * Stores the resume (or adds a reference to an identical one) and returns its stable URL.
+     */
+    @Transactional
+    public String store(MultipartFile resume) throws IOException {
+        Path temp = Files.createTempFile(tempPath, "resume-", ".part");
+        try {
+            String sha256;
+            long size;
+            try (DigestInputStream in = new DigestInputStream(resume.getInputStream(), sha256Digest());
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+                sha256 = HexFormat.of().formatHex(in.getMessageDigest().digest());
+            }
+
+            return storeVerified(temp, sha256, size, resume.getContentType());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stores a local file whose SHA-256 is already known (e.g. a completed resumable upload). The
+     * file may be moved into the blob store; callers should only delete it if it still exists.
+     */
+    @Transactional
+    public String storeVerified(Path file, String sha256, long size, String contentType) throws IOException {
+        // Take the reference first: the upsert locks the row, so a concurrent release of the
+        // last reference cannot delete the blob between our existence check and commit.
+        storedFileRepository.acquireReference(sha256, size, contentType);
+
+        String key = keyFor(sha256);
+        if (!blobStore.exists(key)) {
+            blobStore.put(key, file, contentType);
+        }
+        return URL_PREFIX + key;
+    }
+
+    /**
+     * Drops one reference to a content-addressed resume; deletes the file with the last one.
+     * URLs of legacy (pre content-addressed) uploads are ignored.
+     */
+    @Transactional
+    public void release(String resumeUrl) {
+        Optional<String> sha256 = sha256Of(resumeUrl);
+        if (sha256.isEmpty()) return;
+
+        storedFileRepository.findForUpdate(sha256.get()).ifPresent(file -> {
+            int remaining = file.getRefCount() - 1;
+            if (remaining > 0) {
+                file.setRefCount(remaining);
+                return;
+            }
+            storedFileRepository.delete(file);
+            // Its extracted text and thumbnail reference go too; the GC then reclaims the thumbnail
+            documentProcessingJobRepository.deleteByBlobKey(keyFor(file.getSha256()));
+            try {
+                blobStore.delete(keyFor(file.getSha256()));
+            } catch (IOException e) {
+                logger.warn("Could not delete unreferenced resume {}: {}", file.getSha256(), e.getMessage());
+            }
+        });
+    }
+
+    public static Optional<String> sha256Of(String resumeUrl) {
+        if (resumeUrl == null) return Optional.empty();
+        Matcher m = RESUME_URL.matcher(resumeUrl);
+        return m.matches() ? Optional.of(m.group(1)) : Optional.empty();
+    }
+
+    // Blob store key behind an /uploads/... URL; null for anything else
+    public static String blobKeyOf(String url) {
+        return url != null && url.startsWith(URL_PREFIX) ? url.substring(URL_PREFIX.length()) : null;
+    }
+
+    static String keyFor(String sha256) {
+        return "resumes/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
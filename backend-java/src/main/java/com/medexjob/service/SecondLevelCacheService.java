@@ -0,0 +1,163 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.Employer;
+import com.medexjob.entity.Job;
+import com.medexjob.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the Hibernate second-level cache coherent across nodes and observable.
+ * <p>
+ * After a transaction that changed an {@link Employer}, {@link User} or {@link Job} commits, the
+ * change is published on the {@link CacheInvalidationChannel}; invalidations from other nodes
+ * evict the entity and the query-result regions built from its table. On a single node this is
+ * all a no-op, as Hibernate already invalidates its own cache.
+ * <p>
+ * Every cache region is exposed as {@code hibernate.cache.requests} (tagged by region and
+ * hit/miss) and {@code hibernate.cache.puts}. Entry counts are not available through JCache;
+ * the regions' size bounds are in ehcache.xml.
+ */
+@Service
+public class SecondLevelCacheService implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheService.class);
+
+    // Query-result regions (see the @QueryHints on the repositories) by the entity whose table they read
+    private static final Map<String, List<String>> QUERY_REGIONS = Map.of(
+            Job.class.getName(), List.of("jobs-meta"),
+            Employer.class.getName(), List.of("employers-by-name"),
+            User.class.getName(), List.of());
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationChannel channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public SecondLevelCacheService(EntityManagerFactory entityManagerFactory, CacheInvalidationChannel channel,
+                                   MeterRegistry meterRegistry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.channel = channel;
+
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        channel.subscribe(this::onInvalidation);
+
+        registerMetrics(meterRegistry);
+    }
+
+    // ---------------- Outgoing ----------------
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return QUERY_REGIONS.containsKey(persister.getEntityName());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // A new row can change query results, never a cached entity
+        publish(event.getPersister(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * For bulk (JPQL/native) updates, which raise no entity events: call after commit so other nodes
+     * drop everything they cached from the entity's table. This node's Hibernate already has.
+     */
+    public void publishBulkChange(Class<?> entityClass) {
+        publish(entityClass.getName(), null);
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        publish(persister.getEntityName(), id);
+    }
+
+    private void publish(String entityName, Object id) {
+        try {
+            channel.publish(new CacheInvalidationChannel.Invalidation(nodeId, entityName,
+                    id != null ? id.toString() : null));
+        } catch (RuntimeException e) {
+            // The transaction has committed; other nodes catch up when the region entry expires
+            logger.warn("Could not publish cache invalidation for {}: {}", entityName, e.getMessage());
+        }
+    }
+
+    // ---------------- Incoming ----------------
+    private void onInvalidation(CacheInvalidationChannel.Invalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) return;
+        List<String> queryRegions = QUERY_REGIONS.get(invalidation.entityName());
+        if (queryRegions == null) return;
+
+        Cache cache = sessionFactory.getCache();
+        if (invalidation.id() != null) {
+            // No-op for entities without a cache region (Job)
+            cache.evictEntityData(invalidation.entityName(), UUID.fromString(invalidation.id()));
+        }
+        queryRegions.forEach(cache::evictQueryRegion);
+    }
+
+    // ---------------- Metrics ----------------
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        // Named query regions are otherwise created on first use, after the meters are registered
+        QUERY_REGIONS.values().forEach(regions -> regions.forEach(sessionFactory.getCache()::getQueryResultsCache));
+
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) continue;
+            counter(meterRegistry, "hibernate.cache.requests", region, "hit", regionStatistics, CacheRegionStatistics::getHitCount);
+            counter(meterRegistry, "hibernate.cache.requests", region, "miss", regionStatistics, CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .tag("region", region)
+                    .description("Entries put into the second-level cache region")
+                    .register(meterRegistry);
+        }
+    }
+
+    private static void counter(MeterRegistry meterRegistry, String name, String region, String result,
+                                CacheRegionStatistics statistics, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .tag("region", region)
+                .tag("result", result)
+                .description("Second-level cache lookups by region and result")
+                .register(meterRegistry);
+    }
+}
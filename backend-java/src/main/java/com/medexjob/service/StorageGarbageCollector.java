@@ -0,0 +1,246 @@
+package com.medexjob.service;
+
+import com.medexjob.repository.ApplicationRepository;
+import com.medexjob.repository.DocumentProcessingJobRepository;
+import com.medexjob.repository.EmployerDocumentRepository;
+import com.medexjob.repository.EmployerRepository;
+import com.medexjob.repository.StoredFileRepository;
+import com.medexjob.storage.BlobEntry;
+import com.medexjob.storage.BlobStore;
+import com.medexjob.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Mark-and-sweep collector for blobs nothing in the database points at (deleted applications,
+ * uploads whose DB write failed, thumbnails of removed resumes).
+ * <p>
+ * Mark: every referenced key is streamed from the database in keyset pages into a Bloom filter,
+ * so memory stays bounded by the filter size however large the tables are. Sweep: the blob store
+ * is listed lazily; blobs older than the grace period that the filter has definitely not seen are
+ * re-checked against the database (the filter cannot give false negatives, only false positives,
+ * which merely keep an orphan until a later run) and deleted. {@code tmp/} is left to its owners.
+ */
+@Service
+public class StorageGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageGarbageCollector.class);
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    private final BlobStore blobStore;
+    private final StoredFileRepository storedFileRepository;
+    private final ApplicationRepository applicationRepository;
+    private final EmployerDocumentRepository employerDocumentRepository;
+    private final EmployerRepository employerRepository;
+    private final DocumentProcessingJobRepository documentProcessingJobRepository;
+    private final Counter deletedCounter;
+    private final Counter reclaimedBytesCounter;
+
+    @Value("${storage.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.gc.grace-period:PT24H}")
+    private Duration gracePeriod;
+
+    @Value("${storage.gc.page-size:1000}")
+    private int pageSize;
+
+    @Value("${storage.gc.bloom-false-positive-rate:0.001}")
+    private double bloomFalsePositiveRate;
+
+    public StorageGarbageCollector(BlobStore blobStore, StoredFileRepository storedFileRepository,
+                                   ApplicationRepository applicationRepository,
+                                   EmployerDocumentRepository employerDocumentRepository,
+                                   EmployerRepository employerRepository,
+                                   DocumentProcessingJobRepository documentProcessingJobRepository,
+                                   MeterRegistry meterRegistry) {
+        this.blobStore = blobStore;
+        this.storedFileRepository = storedFileRepository;
+        this.applicationRepository = applicationRepository;
+        this.employerDocumentRepository = employerDocumentRepository;
+        this.employerRepository = employerRepository;
+        this.documentProcessingJobRepository = documentProcessingJobRepository;
+        this.deletedCounter = Counter.builder("storage.gc.deleted")
+                .description("Orphaned blobs deleted by the storage GC")
+                .register(meterRegistry);
+        this.reclaimedBytesCounter = Counter.builder("storage.gc.reclaimed")
+                .baseUnit("bytes")
+                .description("Bytes reclaimed by the storage GC")
+                .register(meterRegistry);
+    }
+
+    /** Outcome of one collection run. */
+    public static class Report {
+        private final boolean dryRun;
+        private long referencedKeys;
+        private long scannedBlobs;
+        private long scannedBytes;
+        private long deletedBlobs;
+        private long reclaimedBytes;
+        private long bloomFilterBytes;
+        private long durationMs;
+
+        Report(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        public boolean isDryRun() {
+            return dryRun;
+        }
+
+        public long getReferencedKeys() {
+            return referencedKeys;
+        }
+
+        public long getScannedBlobs() {
+            return scannedBlobs;
+        }
+
+        public long getScannedBytes() {
+            return scannedBytes;
+        }
+
+        public long getDeletedBlobs() {
+            return deletedBlobs;
+        }
+
+        public long getReclaimedBytes() {
+            return reclaimedBytes;
+        }
+
+        public long getBloomFilterBytes() {
+            return bloomFilterBytes;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+    }
+
+    @Scheduled(cron = "${storage.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        if (enabled) {
+            collect(false);
+        }
+    }
+
+    /**
+     * Runs one mark-and-sweep pass. With {@code dryRun} nothing is deleted; the report shows what
+     * would be reclaimed.
+     */
+    public synchronized Report collect(boolean dryRun) {
+        long start = System.currentTimeMillis();
+        Report report = new Report(dryRun);
+        // Blobs written after this instant may belong to requests whose DB commit is still pending
+        Instant cutoff = Instant.now().minus(gracePeriod);
+
+        // ---------------- Mark ----------------
+        long expected = storedFileRepository.count() + applicationRepository.count()
+                + employerDocumentRepository.count() + documentProcessingJobRepository.count();
+        BloomFilter referenced = new BloomFilter(expected + 1000, bloomFalsePositiveRate);
+        report.bloomFilterBytes = referenced.sizeInBytes();
+
+        report.referencedKeys += mark(referenced, storedFileRepository::findSha256After, ResumeStorageService::keyFor);
+        report.referencedKeys += mark(referenced, applicationRepository::findResumeUrlsAfter, ResumeStorageService::blobKeyOf);
+        report.referencedKeys += mark(referenced, employerDocumentRepository::findBlobKeysAfter, Function.identity());
+        report.referencedKeys += mark(referenced, documentProcessingJobRepository::findThumbnailKeysAfter, Function.identity());
+
+        // ---------------- Sweep ----------------
+        try (Stream<BlobEntry> blobs = blobStore.list("")) {
+            Iterator<BlobEntry> it = blobs.iterator();
+            while (it.hasNext()) {
+                BlobEntry blob = it.next();
+                report.scannedBlobs++;
+                report.scannedBytes += blob.getSizeBytes();
+                if (blob.getKey().startsWith("tmp/")
+                        || blob.getLastModified().isAfter(cutoff)
+                        || referenced.mightContain(blob.getKey())
+                        || isReferenced(blob.getKey())) {
+                    continue;
+                }
+                if (!dryRun) {
+                    blobStore.delete(blob.getKey());
+                    deletedCounter.increment();
+                    reclaimedBytesCounter.increment(blob.getSizeBytes());
+                }
+                report.deletedBlobs++;
+                report.reclaimedBytes += blob.getSizeBytes();
+                logger.debug("{} orphaned blob {} ({} bytes)", dryRun ? "Would delete" : "Deleted",
+                        blob.getKey(), blob.getSizeBytes());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Storage GC sweep stopped early: {}", e.getMessage());
+        }
+
+        report.durationMs = System.currentTimeMillis() - start;
+        logger.info("Storage GC{}: {} referenced keys, scanned {} blobs ({} bytes), {} {} blobs, reclaimed {} bytes in {} ms",
+                dryRun ? " (dry run)" : "", report.referencedKeys, report.scannedBlobs, report.scannedBytes,
+                dryRun ? "would delete" : "deleted", report.deletedBlobs, report.reclaimedBytes, report.durationMs);
+        return report;
+    }
+
+    // Streams one source of references page by page into the filter; returns the number of keys
+    private long mark(BloomFilter filter, BiFunction<String, Pageable, List<String>> page,
+                      Function<String, String> toBlobKey) {
+        Pageable pageable = PageRequest.of(0, pageSize);
+        long count = 0;
+        String after = "";
+        List<String> values;
+        do {
+            values = page.apply(after, pageable);
+            for (String value : values) {
+                String key = toBlobKey.apply(value);
+                if (key != null) {
+                    filter.put(key);
+                    count++;
+                }
+            }
+            if (!values.isEmpty()) {
+                after = values.get(values.size() - 1);
+            }
+        } while (values.size() == pageSize);
+        return count;
+    }
+
+    // Exact check just before deleting, which also covers references created after the mark phase
+    private boolean isReferenced(String key) {
+        if (key.startsWith("resumes/")) {
+            String sha256 = key.substring(key.lastIndexOf('/') + 1);
+            return storedFileRepository.existsById(sha256) || applicationRepository.existsByResumeUrl(URL_PREFIX + key);
+        }
+        if (key.startsWith("verification/")) {
+            if (employerDocumentRepository.existsByBlobKey(key)) return true;
+            // Documents uploaded before employer_documents existed are kept while their employer exists
+            String name = key.substring("verification/".length());
+            try {
+                return name.length() > 36 && employerRepository.existsById(UUID.fromString(name.substring(0, 36)));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        if (key.startsWith("thumbnails/")) {
+            return documentProcessingJobRepository.existsByThumbnailKey(key);
+        }
+        // Anything else: a pre content-addressing resume stored directly under uploads/
+        return applicationRepository.existsByResumeUrl(URL_PREFIX + key);
+    }
+}
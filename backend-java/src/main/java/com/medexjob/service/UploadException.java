@@ -0,0 +1,31 @@
+package com.medexjob.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Rejected resumable-upload operation. Carries the HTTP status to answer with and, for offset
+ * mismatches, the offset the client should resume from.
+ */
+public class UploadException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Long currentOffset;
+
+    public UploadException(HttpStatus status, String message) {
+        this(status, message, null);
+    }
+
+    public UploadException(HttpStatus status, String message, Long currentOffset) {
+        super(message);
+        this.status = status;
+        this.currentOffset = currentOffset;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Long getCurrentOffset() {
+        return currentOffset;
+    }
+}
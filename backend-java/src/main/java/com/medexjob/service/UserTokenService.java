@@ -0,0 +1,90 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.User;
+import com.medexjob.entity.UserToken;
+import com.medexjob.repository.UserTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+public class UserTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private UserTokenRepository userTokenRepository;
+
+    @Value("${auth.tokens.sweep-batch-size:1000}")
+    private int sweepBatchSize;
+
+    // ---------------- Issue ----------------
+    // Replaces any outstanding token of the same purpose and returns the raw token for the email link.
+    @Transactional
+    public String issue(User user, UserToken.TokenPurpose purpose, Duration ttl) {
+        userTokenRepository.deleteByUserAndPurpose(user, purpose);
+
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        userTokenRepository.save(new UserToken(user, hash(rawToken), purpose, LocalDateTime.now().plus(ttl)));
+        return rawToken;
+    }
+
+    // ---------------- Lookup ----------------
+    // Read-write on purpose: a lagging read replica could still return a token that was just consumed
+    @Transactional
+    public Optional<UserToken> find(String rawToken, UserToken.TokenPurpose purpose) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        return userTokenRepository.findByTokenHashAndPurpose(hash(rawToken), purpose);
+    }
+
+    @Transactional
+    public void consume(UserToken token) {
+        userTokenRepository.delete(token);
+    }
+
+    // ---------------- Expired token sweeper ----------------
+    @Scheduled(fixedDelayString = "${auth.tokens.sweep-interval:PT1H}", initialDelayString = "PT1M")
+    public void sweepExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = userTokenRepository.deleteExpiredBatch(now, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+
+        if (total > 0) {
+            logger.info("Removed {} expired user tokens", total);
+        }
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.medexjob.storage;
+
+import java.time.Instant;
+
+/**
+ * One blob as returned by {@link BlobStore#list}.
+ */
+public class BlobEntry {
+
+    private final String key;
+    private final long sizeBytes;
+    private final Instant lastModified;
+
+    public BlobEntry(String key, long sizeBytes, Instant lastModified) {
+        this.key = key;
+        this.sizeBytes = sizeBytes;
+        this.lastModified = lastModified;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,63 @@
+package com.medexjob.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage for uploaded documents (resumes, employer verification documents), addressed by a
+ * relative key such as {@code resumes/ab/cd/<sha256>}. Implementations: {@link LocalBlobStore}
+ * for a local directory and {@link S3BlobStore} for any S3-compatible object store.
+ */
+public interface BlobStore {
+
+    /**
+     * Streams {@code content} to {@code key}, replacing any existing blob. Readers never observe a
+     * partially written blob.
+     */
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    /**
+     * Stores a file that already exists on local disk. The file may be moved into the store, so
+     * callers must not rely on it afterwards.
+     */
+    default void put(String key, Path file, String contentType) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            put(key, in, Files.size(file), contentType);
+        }
+    }
+
+    /**
+     * Opens the blob for streaming; throws {@link java.nio.file.NoSuchFileException} if it does not exist.
+     */
+    InputStream get(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Lazily lists every blob whose key starts with {@code prefix} (empty for all), in no
+     * particular order. The stream holds open resources and must be closed.
+     */
+    Stream<BlobEntry> list(String prefix) throws IOException;
+
+    /**
+     * Local file holding the blob, if the store keeps blobs on this machine's disk. Lets callers
+     * serve the bytes with zero-copy transfers instead of streaming them through the heap.
+     */
+    default Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Time-limited URL that lets clients download the blob directly from the store, keeping the
+     * bytes off the application servers. Empty when the store cannot issue such URLs.
+     */
+    Optional<URI> presignedDownloadUrl(String key, Duration ttl);
+}
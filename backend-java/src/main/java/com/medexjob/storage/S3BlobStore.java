@@ -0,0 +1,129 @@
+package com.medexjob.storage;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link BlobStore} for S3-compatible object stores (AWS S3, MinIO). Blobs above the multipart
+ * threshold are uploaded in parts so only one part is buffered in memory at a time.
+ */
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final long multipartThreshold;
+    private final int partSize;
+
+    public S3BlobStore(S3Client s3, S3Presigner presigner, String bucket, long multipartThreshold, int partSize) {
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.multipartThreshold = multipartThreshold;
+        // S3 rejects parts smaller than 5 MB (except the last one)
+        this.partSize = Math.max(partSize, 5 * 1024 * 1024);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        try {
+            if (contentLength >= 0 && contentLength <= multipartThreshold) {
+                s3.putObject(b -> b.bucket(bucket).key(key).contentType(contentType).contentLength(contentLength),
+                        RequestBody.fromInputStream(content, contentLength));
+            } else {
+                putMultipart(key, content, contentType);
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Failed to upload " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void putMultipart(String key, InputStream content, String contentType) throws IOException {
+        String uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(key).contentType(contentType)).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] buffer = new byte[partSize];
+            int partNumber = 1;
+            int read;
+            while ((read = content.readNBytes(buffer, 0, partSize)) > 0) {
+                int number = partNumber++;
+                int length = read;
+                String eTag = s3.uploadPart(b -> b.bucket(bucket).key(key).uploadId(uploadId).partNumber(number).contentLength((long) length),
+                        RequestBody.fromByteBuffer(ByteBuffer.wrap(buffer, 0, length))).eTag();
+                parts.add(CompletedPart.builder().partNumber(number).eTag(eTag).build());
+            }
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (IOException | RuntimeException e) {
+            s3.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        try {
+            return s3.getObject(b -> b.bucket(bucket).key(key));
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (S3Exception e) {
+            throw new IOException("Failed to read " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            s3.headObject(b -> b.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return false;
+            throw new IOException("Failed to check " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(b -> b.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            throw new IOException("Failed to delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Stream<BlobEntry> list(String prefix) throws IOException {
+        try {
+            // Pages of up to 1000 keys are fetched as the stream is consumed
+            return s3.listObjectsV2Paginator(b -> b.bucket(bucket).prefix(prefix)).contents().stream()
+                    .map(o -> new BlobEntry(o.key(), o.size(), o.lastModified()));
+        } catch (S3Exception e) {
+            throw new IOException("Failed to list " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, Duration ttl) {
+        return Optional.of(URI.create(presigner.presignGetObject(b -> b
+                .signatureDuration(ttl)
+                .getObjectRequest(r -> r.bucket(bucket).key(key))).url().toString()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.medexjob.storage;
+
+/**
+ * Thrown when the upload I/O stage is saturated (concurrency or in-flight byte budget). Mapped to
+ * 503 with a Retry-After header.
+ */
+public class UploadCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public UploadCapacityExceededException(long retryAfterSeconds) {
+        super("Too many uploads in progress, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,164 @@
+package com.medexjob.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dedicated stage for persisting uploads (hashing, disk writes, object-store transfers), so slow
+ * storage pins a bounded pool instead of the Tomcat request threads. Admission is limited both by
+ * queue length and by the bytes currently being written; anything over either limit fails fast
+ * with {@link UploadCapacityExceededException} (503 + Retry-After) rather than queueing.
+ */
+@Component
+public class UploadIoStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadIoStage.class);
+
+    /** Upload persistence step; may throw {@link IOException}. */
+    @FunctionalInterface
+    public interface IoTask<T> {
+        T call() throws IOException;
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final long maxInFlightBytes;
+    private final long retryAfterSeconds;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+
+    private final Timer waitTimer;
+    private final Timer writeTimer;
+    private final Counter writtenBytesCounter;
+    private final Counter rejectedCounter;
+
+    public UploadIoStage(
+            @Value("${uploads.io.max-concurrency:8}") int maxConcurrency,
+            @Value("${uploads.io.queue-capacity:32}") int queueCapacity,
+            @Value("${uploads.io.max-in-flight:256MB}") DataSize maxInFlight,
+            @Value("${uploads.io.retry-after-seconds:5}") long retryAfterSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrency, maxConcurrency,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.maxInFlightBytes = maxInFlight.toBytes();
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.waitTimer = Timer.builder("uploads.io.wait")
+                .description("Time uploads spend queued before an I/O thread picks them up")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("uploads.io.latency")
+                .description("Time to persist one upload")
+                .register(meterRegistry);
+        this.writtenBytesCounter = Counter.builder("uploads.io.written")
+                .baseUnit("bytes")
+                .description("Bytes persisted by the upload I/O stage (rate = write throughput)")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("uploads.io.rejected")
+                .description("Uploads rejected because the I/O stage was saturated")
+                .register(meterRegistry);
+        Gauge.builder("uploads.io.queue.depth", executor, e -> e.getQueue().size())
+                .description("Uploads waiting for an I/O thread")
+                .register(meterRegistry);
+        Gauge.builder("uploads.io.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("I/O threads currently persisting uploads")
+                .register(meterRegistry);
+        Gauge.builder("uploads.io.in_flight", inFlightBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Bytes admitted to the I/O stage and not yet persisted")
+                .register(meterRegistry);
+
+        logger.info("Upload I/O stage started with {} threads, queue capacity {} and {} in-flight budget",
+                maxConcurrency, queueCapacity, maxInFlight);
+    }
+
+    /**
+     * Runs {@code task}, which persists about {@code bytes} bytes, on the I/O pool. Throws
+     * {@link UploadCapacityExceededException} immediately when the stage is saturated; I/O
+     * failures complete the future exceptionally with an {@link UncheckedIOException}.
+     */
+    public <T> CompletableFuture<T> submit(long bytes, IoTask<T> task) {
+        // A single upload larger than the whole budget is still admitted when the stage is idle
+        long reserved = Math.max(0, bytes);
+        if (!tryReserve(reserved)) {
+            rejectedCounter.increment();
+            throw new UploadCapacityExceededException(retryAfterSeconds);
+        }
+
+        long enqueuedAt = System.nanoTime();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                long start = System.nanoTime();
+                try {
+                    T result = task.call();
+                    writtenBytesCounter.increment(reserved);
+                    inFlightBytes.addAndGet(-reserved);
+                    future.complete(result);
+                } catch (IOException e) {
+                    inFlightBytes.addAndGet(-reserved);
+                    future.completeExceptionally(new UncheckedIOException(e));
+                } catch (Throwable t) {
+                    inFlightBytes.addAndGet(-reserved);
+                    future.completeExceptionally(t);
+                } finally {
+                    writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightBytes.addAndGet(-reserved);
+            rejectedCounter.increment();
+            throw new UploadCapacityExceededException(retryAfterSeconds);
+        }
+        return future;
+    }
+
+    private boolean tryReserve(long bytes) {
+        while (true) {
+            long current = inFlightBytes.get();
+            if (current > 0 && current + bytes > maxInFlightBytes) {
+                return false;
+            }
+            if (inFlightBytes.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread t = new Thread(runnable, "upload-io-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.medexjob.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size Bloom filter for strings. {@link #mightContain} never returns false for an added
+ * key; it returns true for a key that was not added with roughly the configured probability.
+ * Not thread-safe.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions number of keys the filter is sized for
+     * @param falsePositiveRate  target false positive probability at that size, e.g. 0.001
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        // Indexes come from 31-bit hashes, so 2^31 bits (256 MB) is the useful maximum
+        this.bits = new long[(int) Math.min(1L << 25, Math.max(1, (m + 63) / 64))];
+        this.hashCount = Math.max(1, (int) Math.round((double) bits.length * 64 / n * Math.log(2)));
+    }
+
+    public void put(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(h1 + i * h2);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(h1 + i * h2);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Memory used by the bit array, in bytes. */
+    public long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    private long bitIndex(int combined) {
+        return (combined & 0x7fffffffL) % ((long) bits.length * 64);
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes with a final avalanche, split into two 32-bit hashes
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,100 @@
+package com.medexjob.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: comma-separated, fields optionally in double quotes, {@code ""}
+ * for a quote inside a quoted field, and line breaks allowed inside quotes. Reads one record at a
+ * time, so input of any size is parsed in constant memory (apart from the current record).
+ * Not thread-safe; the caller closes the reader.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private int pushedBack = -2;
+    private long line = 1;
+    private long recordLine;
+
+    /** {@code reader} should be buffered. */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** The next record's fields, or {@code null} at end of input. */
+    public List<String> next() throws IOException {
+        int c = read();
+        // Skip blank lines between records
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) return null;
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') unread(n);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    /** Line on which the record last returned by {@link #next} started (1-based). */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') line++;
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
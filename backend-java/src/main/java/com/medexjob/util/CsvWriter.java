@@ -0,0 +1,44 @@
+package com.medexjob.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * Minimal RFC 4180 CSV writer, the counterpart of {@link CsvReader}: fields containing a comma,
+ * quote or line break are quoted, quotes are doubled, records end with CRLF and {@code null} is
+ * written as an empty field. Writes straight through to the underlying writer.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeRecord(Collection<?> fields) throws IOException {
+        boolean first = true;
+        for (Object field : fields) {
+            if (!first) writer.write(',');
+            first = false;
+            if (field != null) writeField(field.toString());
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
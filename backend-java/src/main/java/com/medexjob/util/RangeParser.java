@@ -0,0 +1,159 @@
+package com.medexjob.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Best-effort numeric ranges from the free-text salary and experience of a job posting, e.g.
+ * {@code "₹80,000–1,20,000"}, {@code "1-1.5 lakh per month"}, {@code "12 LPA"},
+ * {@code "0-2 years"}, {@code "Min 2 yrs - Max 5 yrs"}, {@code "5+ yrs"}, {@code "Fresher"}.
+ * <p>
+ * A result has both bounds or neither: a single value becomes {@code [v, v]}, "up to" experience
+ * {@code [0, v]} and open-ended experience ("5+ yrs", "3 years and above") {@code [v, 600]}, the
+ * largest value accepted, so it matches every filter at or above v. Salaries are rupees per
+ * month (annual figures are divided by 12), experience is in months. Text without a usable number ("As per norms") gives {@link Range#NONE}.
+ * Bump {@link #VERSION} when the rules change, so stored ranges are parsed again.
+ */
+public final class RangeParser {
+
+    public static final int VERSION = 3;
+
+    public record Range(Integer min, Integer max) {
+        public static final Range NONE = new Range(null, null);
+
+        public boolean isEmpty() {
+            return min == null;
+        }
+    }
+
+    // Amounts outside this band are pay levels, years, phone numbers and the like, not monthly pay
+    private static final double MIN_MONTHLY_SALARY = 3_000;
+    private static final double MAX_MONTHLY_SALARY = 5_000_000;
+    private static final double MAX_EXPERIENCE_MONTHS = 600;
+
+    private static final Pattern SALARY_AMOUNT = Pattern.compile(
+            "(?<![\\d.,])(\\d++(?:,\\d++)*+(?:\\.\\d++)?+)\\s*(lakhs?|lacs?|lpa|l|k|thousands?|crores?|cr)?(?![a-z])");
+    private static final Pattern ANNUAL = Pattern.compile(
+            "(?<![a-z])(per annum|p\\.? ?a\\.?|annum|annual|annually|yearly|per year|lpa|ctc)(?![a-z])");
+    private static final Pattern EXPERIENCE_AMOUNT = Pattern.compile(
+            "(?<![\\d.])(\\d++(?:\\.\\d++)?+)\\s*(years?|yrs?|y|months?|mos?|m)?(?![a-z])");
+    private static final Pattern UP_TO = Pattern.compile(
+            "(?<![a-z])(up ?to|max|maximum|not more than|less than|below)(?![a-z])");
+    private static final Pattern OPEN_ENDED = Pattern.compile(
+            "\\d\\s*\\+|(?<![a-z])(and above|or above|and more|or more|above|at least|minimum|min)(?![a-z])");
+    // What may stand between the two ends of a range ("80,000/- to Rs. 1,20,000", "2 - 5",
+    // "min 2 yrs - max 5 yrs", "minimum 2 maximum 5"); a "max" joining two values is not "up to"
+    private static final Pattern RANGE_SEPARATOR = Pattern.compile(
+            "\\s*(/-)?\\s*(?:(?:-|to)\\s*(?:max(?:imum)?\\.?)?|,?\\s*max(?:imum)?\\.?)\\s*(?:of\\s*)?(rs\\.?|inr|₹)?\\s*");
+    private static final Pattern FRESHER = Pattern.compile(
+            "(?<![a-z])(freshers?|no experience|not required|nil|none|entry level)(?![a-z])");
+
+    private RangeParser() {
+    }
+
+    /** Monthly salary in rupees. */
+    public static Range salary(String text) {
+        String s = normalize(text);
+        if (s == null) return Range.NONE;
+
+        List<double[]> amounts = amounts(s, SALARY_AMOUNT, RangeParser::salaryMultiplier);
+        double divisor = ANNUAL.matcher(s).find() ? 12 : 1;
+        List<double[]> values = new ArrayList<>();
+        for (double[] a : amounts) {
+            double monthly = a[0] * a[1] / divisor;
+            if (monthly >= MIN_MONTHLY_SALARY && monthly <= MAX_MONTHLY_SALARY) {
+                values.add(new double[]{monthly, a[2]});
+            }
+        }
+        return range(values, false);
+    }
+
+    /** Required experience in months. */
+    public static Range experienceMonths(String text) {
+        String s = normalize(text);
+        if (s == null) return Range.NONE;
+
+        List<double[]> amounts = amounts(s, EXPERIENCE_AMOUNT, RangeParser::experienceMultiplier);
+        List<double[]> values = new ArrayList<>();
+        for (double[] a : amounts) {
+            double months = a[0] * a[1];
+            if (months <= MAX_EXPERIENCE_MONTHS) values.add(new double[]{months, a[2]});
+        }
+        if (values.isEmpty()) {
+            return FRESHER.matcher(s).find() ? new Range(0, 0) : Range.NONE;
+        }
+        Range range = range(values, UP_TO.matcher(s).find());
+        if (range.min().equals(range.max()) && OPEN_ENDED.matcher(s).find()) {
+            return new Range(range.min(), (int) MAX_EXPERIENCE_MONTHS);
+        }
+        return range;
+    }
+
+    // Lower case, dashes unified, single spaces
+    private static String normalize(String text) {
+        if (text == null || text.isBlank()) return null;
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[\\u2010-\\u2015\\u2212]", "-")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    // (number, multiplier, 1 if joined to the previous number as a range) triples. A small number
+    // without a unit takes the next unit given (or the one before), so "1-1.5 lakh" and
+    // "2 to 5 years" apply the unit to both ends but "50,000 to 1 lakh" does not
+    private static List<double[]> amounts(String s, Pattern amount, ToDoubleFunction<String> multiplier) {
+        List<double[]> amounts = new ArrayList<>();
+        List<String> units = new ArrayList<>();
+        Matcher m = amount.matcher(s);
+        int previousEnd = -1;
+        while (m.find()) {
+            boolean rangeEnd = previousEnd >= 0
+                    && RANGE_SEPARATOR.matcher(s.substring(previousEnd, m.start())).matches();
+            amounts.add(new double[]{Double.parseDouble(m.group(1).replace(",", "")), 0, rangeEnd ? 1 : 0});
+            units.add(m.group(2));
+            previousEnd = m.end();
+        }
+        String following = null;
+        String[] inherited = new String[units.size()];
+        for (int i = amounts.size() - 1; i >= 0; i--) {
+            if (units.get(i) != null) following = units.get(i);
+            else inherited[i] = following;
+        }
+        String preceding = null;
+        for (int i = 0; i < amounts.size(); i++) {
+            String unit = units.get(i);
+            if (unit != null) preceding = unit;
+            else if (amounts.get(i)[0] < 1000) unit = inherited[i] != null ? inherited[i] : preceding;
+            amounts.get(i)[1] = multiplier.applyAsDouble(unit);
+        }
+        return amounts;
+    }
+
+    private static double salaryMultiplier(String unit) {
+        if (unit == null) return 1;
+        if (unit.startsWith("l")) return 100_000;
+        if (unit.startsWith("c")) return 10_000_000;
+        return 1_000; // k, thousand
+    }
+
+    private static double experienceMultiplier(String unit) {
+        if (unit == null || unit.startsWith("y")) return 12;
+        return 1; // months
+    }
+
+    // The first value, up to the second if that is written as the other end of its range; a single
+    // value is both bounds (or the upper one after "up to"). Later figures (allowances etc.) are ignored
+    private static Range range(List<double[]> values, boolean upTo) {
+        if (values.isEmpty()) return Range.NONE;
+        int a = (int) Math.round(values.get(0)[0]);
+        if (values.size() == 1 || values.get(1)[1] == 0) {
+            return upTo ? new Range(0, a) : new Range(a, a);
+        }
+        int b = (int) Math.round(values.get(1)[0]);
+        return new Range(Math.min(a, b), Math.max(a, b));
+    }
+}
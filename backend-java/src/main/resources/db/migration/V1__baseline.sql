@@ -0,0 +1,242 @@
+-- Baseline: the schema as Hibernate's ddl-auto produced it up to this point.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+create table applications (
+    applied_date datetime(6) not null,
+    interview_date datetime(6),
+    updated_at datetime(6),
+    candidate_phone varchar(15) not null,
+    candidate_id binary(16),
+    id binary(16) not null,
+    job_id binary(16) not null,
+    candidate_email varchar(100) not null,
+    candidate_name varchar(100) not null,
+    resume_url varchar(500),
+    notes TEXT,
+    status enum ('APPLIED','SHORTLISTED','INTERVIEW','SELECTED','REJECTED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table document_processing_jobs (
+    attempts integer not null,
+    page_count integer,
+    created_at datetime(6) not null,
+    lease_expires_at datetime(6),
+    next_attempt_at datetime(6) not null,
+    processed_at datetime(6),
+    size_bytes bigint,
+    updated_at datetime(6),
+    id binary(16) not null,
+    sha256 varchar(64),
+    detected_mime varchar(100),
+    blob_key varchar(500) not null,
+    last_error varchar(500),
+    thumbnail_key varchar(500),
+    extracted_text LONGTEXT,
+    source enum ('RESUME','EMPLOYER_DOCUMENT') not null,
+    status enum ('PENDING','RUNNING','SUCCEEDED','FAILED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table employer_documents (
+    created_at datetime(6) not null,
+    size_bytes bigint not null,
+    employer_id binary(16) not null,
+    id binary(16) not null,
+    sha256 varchar(64),
+    content_type varchar(100),
+    blob_key varchar(500) not null,
+    file_name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table employers (
+    is_verified bit not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    verified_at datetime(6),
+    pincode varchar(10),
+    id binary(16) not null,
+    user_id binary(16) not null,
+    city varchar(100),
+    state varchar(100),
+    company_name varchar(200) not null,
+    address varchar(500),
+    company_description TEXT,
+    verification_notes TEXT,
+    website varchar(255),
+    company_type enum ('HOSPITAL','CONSULTANCY','HR') not null,
+    verification_status enum ('PENDING','APPROVED','REJECTED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table idempotency_keys (
+    response_status integer,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    scope varchar(50) not null,
+    fingerprint varchar(64) not null,
+    key_hash varchar(64) not null,
+    response_body TEXT,
+    status enum ('IN_PROGRESS','COMPLETED') not null,
+    primary key (key_hash)
+) engine=InnoDB;
+
+create table jobs (
+    applications_count integer not null,
+    is_featured bit not null,
+    last_date date not null,
+    number_of_posts integer not null,
+    views integer not null,
+    approved_at datetime(6),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    contact_phone varchar(15) not null,
+    approved_by binary(16),
+    employer_id binary(16) not null,
+    id binary(16) not null,
+    contact_email varchar(100) not null,
+    experience varchar(100) not null,
+    location varchar(100) not null,
+    salary_range varchar(100),
+    title varchar(200) not null,
+    apply_link varchar(500),
+    pdf_url varchar(500),
+    benefits TEXT,
+    description TEXT not null,
+    qualification TEXT not null,
+    requirements TEXT,
+    speciality varchar(255),
+    category enum ('JUNIOR_RESIDENT','SENIOR_RESIDENT','MEDICAL_OFFICER','FACULTY','SPECIALIST','AYUSH','PARAMEDICAL_NURSING') not null,
+    duty_type enum ('FULL_TIME','PART_TIME','CONTRACT'),
+    experience_level enum ('ENTRY','MID','SENIOR','EXECUTIVE'),
+    sector enum ('GOVERNMENT','PRIVATE') not null,
+    status enum ('ACTIVE','CLOSED','PENDING','DRAFT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table stored_files (
+    ref_count integer not null,
+    created_at datetime(6) not null,
+    size_bytes bigint not null,
+    sha256 varchar(64) not null,
+    content_type varchar(100),
+    primary key (sha256)
+) engine=InnoDB;
+
+create table upload_sessions (
+    created_at datetime(6) not null,
+    received_bytes bigint not null,
+    total_size bigint not null,
+    updated_at datetime(6),
+    version bigint not null,
+    id binary(16) not null,
+    expected_sha256 varchar(64),
+    sha256 varchar(64),
+    content_type varchar(100),
+    owner_email varchar(100) not null,
+    file_name varchar(255),
+    purpose enum ('RESUME','EMPLOYER_DOCUMENT') not null,
+    status enum ('IN_PROGRESS','COMPLETED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_tokens (
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    id binary(16) not null,
+    user_id binary(16) not null,
+    token_hash varchar(64) not null,
+    purpose enum ('EMAIL_VERIFICATION','PASSWORD_RESET') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    is_active bit not null,
+    is_verified bit not null,
+    created_at datetime(6) not null,
+    email_verified_at datetime(6),
+    password_reset_expires datetime(6),
+    updated_at datetime(6),
+    phone varchar(15) not null,
+    id binary(16) not null,
+    email varchar(100) not null,
+    name varchar(100) not null,
+    email_verification_token varchar(255),
+    password_hash varchar(255) not null,
+    password_reset_token varchar(255),
+    role enum ('ADMIN','EMPLOYER','CANDIDATE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index ix_applications_resume_url
+   on applications (resume_url);
+
+alter table applications
+   add constraint uk_applications_job_email unique (job_id, candidate_email);
+
+create index ix_document_processing_jobs_due
+   on document_processing_jobs (status, next_attempt_at);
+
+create index ix_document_processing_jobs_thumbnail
+   on document_processing_jobs (thumbnail_key);
+
+alter table document_processing_jobs
+   add constraint ux_document_processing_jobs_blob_key unique (blob_key);
+
+create index ix_employer_documents_employer
+   on employer_documents (employer_id);
+
+create index ix_employer_documents_blob_key
+   on employer_documents (blob_key);
+
+alter table employers
+   add constraint UK_lf0p1iaulwu7g1cvvyu2vfn2j unique (user_id);
+
+create index ix_idempotency_keys_expires_at
+   on idempotency_keys (expires_at);
+
+create index ix_upload_sessions_updated_at
+   on upload_sessions (updated_at);
+
+create index ix_user_tokens_expires_at
+   on user_tokens (expires_at);
+
+create index ix_user_tokens_user_purpose
+   on user_tokens (user_id, purpose);
+
+alter table user_tokens
+   add constraint ux_user_tokens_token_hash unique (token_hash);
+
+alter table users
+   add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table applications
+   add constraint FK65weib1lru9dkrbto5pv389vi
+   foreign key (job_id)
+   references jobs (id);
+
+alter table employer_documents
+   add constraint FK3k1qkjwukxg8x222fjocbkaxu
+   foreign key (employer_id)
+   references employers (id);
+
+alter table employers
+   add constraint FK6abfx371o1dsomsi0jstr0utl
+   foreign key (user_id)
+   references users (id);
+
+alter table jobs
+   add constraint FK1itioe0vht911tu8oy7nu7t1
+   foreign key (approved_by)
+   references users (id);
+
+alter table jobs
+   add constraint FKja6e4osjhsx4wodgd2os82890
+   foreign key (employer_id)
+   references employers (id);
+
+alter table user_tokens
+   add constraint FK61iiu6gfevpvo2v3yl76sar7r
+   foreign key (user_id)
+   references users (id);
@@ -0,0 +1,40 @@
+-- Secondary indexes for the repository queries and default sorts, which were table scans.
+-- Each table gets one ALTER (a single pass over it). On InnoDB, ADD INDEX with INPLACE/LOCK=NONE
+-- builds online: reads and writes continue while the index is built. MySQL fails the statement
+-- instead of silently locking the table if that is not possible.
+
+-- jobs: list endpoints filter by status (with createdAt desc as the default sort), the active-job
+-- listing adds last_date, featured/top lists sort by views or applications_count
+alter table jobs
+    add index ix_jobs_status_created_at (status, created_at),
+    add index ix_jobs_status_last_date (status, last_date),
+    add index ix_jobs_status_featured_created_at (status, is_featured, created_at),
+    add index ix_jobs_status_views (status, views),
+    add index ix_jobs_status_applications_count (status, applications_count),
+    add index ix_jobs_sector_created_at (sector, created_at),
+    add index ix_jobs_category_created_at (category, created_at),
+    add index ix_jobs_location (location),
+    add index ix_jobs_created_at (created_at),
+    algorithm = inplace, lock = none;
+
+-- applications: admin lists by job / candidate / status, sorted by appliedDate desc by default
+alter table applications
+    add index ix_applications_job_status_applied (job_id, status, applied_date),
+    add index ix_applications_job_applied (job_id, applied_date),
+    add index ix_applications_candidate_status_applied (candidate_id, status, applied_date),
+    add index ix_applications_candidate_applied (candidate_id, applied_date),
+    add index ix_applications_status_applied (status, applied_date),
+    add index ix_applications_applied_date (applied_date),
+    algorithm = inplace, lock = none;
+
+-- employers: resolveOrCreateEmployer looks up by company name; the admin list sorts by createdAt
+alter table employers
+    add index ix_employers_company_name (company_name),
+    add index ix_employers_verification_created (verification_status, created_at),
+    add index ix_employers_created_at (created_at),
+    algorithm = inplace, lock = none;
+
+-- users: role counts and listings
+alter table users
+    add index ix_users_role_active (role, is_active),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,68 @@
+-- Lookup tables for the free-text job attributes location and speciality. Jobs keep the text (in
+-- its canonical spelling) and get the entry's id; filters and the meta endpoint use the ids.
+-- normalized_name is the value trimmed, single-spaced and lower-cased, as JobDimensionService
+-- computes it; name is the spelling shown to users.
+
+create table locations (
+    id integer not null auto_increment,
+    name varchar(255) not null,
+    normalized_name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table specialities (
+    id integer not null auto_increment,
+    name varchar(255) not null,
+    normalized_name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table locations
+   add constraint ux_locations_normalized_name unique (normalized_name);
+
+alter table specialities
+   add constraint ux_specialities_normalized_name unique (normalized_name);
+
+-- The LIKE '%x%' filters could not use ix_jobs_location; the id indexes replace it
+alter table jobs
+    add column location_id integer,
+    add column speciality_id integer,
+    add index ix_jobs_location_id_status_created_at (location_id, status, created_at),
+    add index ix_jobs_speciality_id_status_created_at (speciality_id, status, created_at),
+    drop index ix_jobs_location,
+    algorithm = inplace, lock = none;
+
+-- Backfill: one entry per distinct normalized value, named after one of its spellings
+insert into locations (name, normalized_name)
+select min(regexp_replace(trim(location), '[[:space:]]+', ' ')),
+       lower(regexp_replace(trim(location), '[[:space:]]+', ' '))
+from jobs
+where trim(location) <> ''
+group by lower(regexp_replace(trim(location), '[[:space:]]+', ' '));
+
+insert into specialities (name, normalized_name)
+select min(regexp_replace(trim(speciality), '[[:space:]]+', ' ')),
+       lower(regexp_replace(trim(speciality), '[[:space:]]+', ' '))
+from jobs
+where speciality is not null and trim(speciality) <> ''
+group by lower(regexp_replace(trim(speciality), '[[:space:]]+', ' '));
+
+update jobs j
+    join locations l on l.normalized_name = lower(regexp_replace(trim(j.location), '[[:space:]]+', ' '))
+set j.location_id = l.id,
+    j.location = l.name;
+
+update jobs j
+    join specialities s on s.normalized_name = lower(regexp_replace(trim(j.speciality), '[[:space:]]+', ' '))
+set j.speciality_id = s.id,
+    j.speciality = s.name;
+
+alter table jobs
+   add constraint fk_jobs_location_id
+   foreign key (location_id)
+   references locations (id);
+
+alter table jobs
+   add constraint fk_jobs_speciality_id
+   foreign key (speciality_id)
+   references specialities (id);
@@ -0,0 +1,16 @@
+-- Numeric salary (rupees per month) and experience (months) ranges parsed from the free-text
+-- salary_range and experience columns, for range filters on the job list. Filled on write and,
+-- for existing rows, by JobRangeService's backfill (rows whose range_parser_version is missing
+-- or older than the parser's).
+-- Each index leads with status: the list always filters on it, then ranges over the bound.
+alter table jobs
+    add column salary_min integer,
+    add column salary_max integer,
+    add column experience_min_months integer,
+    add column experience_max_months integer,
+    add column range_parser_version integer,
+    add index ix_jobs_status_salary_max (status, salary_max),
+    add index ix_jobs_status_salary_min (status, salary_min),
+    add index ix_jobs_status_experience_min_months (status, experience_min_months),
+    add index ix_jobs_status_experience_max_months (status, experience_max_months),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,7 @@
+-- Scheduled publishing: PENDING/DRAFT jobs with a publish_at become ACTIVE at that time. The
+-- lifecycle scheduler finds them by (status, publish_at), and expired ACTIVE jobs by
+-- ix_jobs_status_last_date.
+alter table jobs
+    add column publish_at datetime(6),
+    add index ix_jobs_status_publish_at (status, publish_at),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,5 @@
+-- Chunked uploads are assembled on the local disk of the node that created the session; the node
+-- is recorded so requests reaching another node are refused instead of writing a partial file there.
+alter table upload_sessions
+    add column node varchar(100),
+    algorithm = inplace, lock = none;
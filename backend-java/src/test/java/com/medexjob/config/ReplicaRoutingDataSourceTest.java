@@ -0,0 +1,117 @@
+package com.medexjob.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing over two in-memory H2 databases that each know their own name, wired like
+ * {@link DataSourceConfig} (lazy proxy in front of the routing data source).
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private SwitchableDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void afterAWriteTheRestOfTheRequestReadsFromThePrimary() {
+        readWrite.executeWithoutResult(status -> jdbc.update("update whoami set name = name"));
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        // Next request (ReplicaRoutingFilter clears the flag)
+        ReplicaRoutingContext.clear();
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void unhealthyReplicaFailsOverToThePrimary() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(routing, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(monitor, "lagCheck", "none");
+        ReflectionTestUtils.setField(monitor, "maxLag", Duration.ofSeconds(5));
+
+        replica.down = true;
+        monitor.check();
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        replica.down = false;
+        monitor.check();
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("select name from whoami", String.class);
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table whoami (name varchar(20))");
+        jdbc.update("insert into whoami (name) values (?)", name);
+        return dataSource;
+    }
+
+    // A replica that can be made unreachable
+    private static class SwitchableDataSource extends DriverManagerDataSource {
+        volatile boolean down;
+
+        SwitchableDataSource(DriverManagerDataSource target) {
+            super(target.getUrl());
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) throw new SQLException("Connection refused");
+            return super.getConnection();
+        }
+    }
+}
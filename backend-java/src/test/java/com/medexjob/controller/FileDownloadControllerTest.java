@@ -0,0 +1,181 @@
+package com.medexjob.controller;
+
+import com.medexjob.repository.ApplicationRepository;
+import com.medexjob.repository.EmployerRepository;
+import com.medexjob.repository.StoredFileRepository;
+import com.medexjob.storage.BlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class FileDownloadControllerTest {
+
+    private static final String RESUME = "resumes/ab/cd/abcd1234";
+    private static final String THUMBNAIL = "thumbnails/abcd1234.png";
+    private static final String SHA256 = "abcd" + "0".repeat(60);
+    private static final String OWN_RESUME = "resumes/ab/cd/" + SHA256;
+
+    @TempDir
+    Path dir;
+
+    private BlobStore blobStore;
+    private ApplicationRepository applicationRepository;
+    private FileDownloadController controller;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = mock(BlobStore.class);
+        applicationRepository = mock(ApplicationRepository.class);
+        controller = new FileDownloadController(blobStore, applicationRepository,
+                mock(EmployerRepository.class), mock(StoredFileRepository.class));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "other@employer.com", null, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void employerCannotDownloadResumeNotSentToTheirJobs() throws Exception {
+        when(applicationRepository.existsByResumeUrlAndJobEmployerUserEmail("/uploads/" + RESUME, "other@employer.com"))
+                .thenReturn(false);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.download("/" + RESUME, new MockHttpServletRequest("GET", "/uploads/" + RESUME), response);
+
+        assertEquals(403, response.getStatus());
+        verifyNoInteractions(blobStore);
+    }
+
+    @Test
+    void employerCannotDownloadThumbnailOfResumeNotSentToTheirJobs() throws Exception {
+        when(applicationRepository.existsThumbnailForEmployer(THUMBNAIL, "other@employer.com")).thenReturn(false);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.download("/" + THUMBNAIL, new MockHttpServletRequest("GET", "/uploads/" + THUMBNAIL), response);
+
+        assertEquals(403, response.getStatus());
+        verifyNoInteractions(blobStore);
+    }
+
+    // ---------------- Serving a resume the employer may open ----------------
+
+    private byte[] content;
+
+    private MockHttpServletRequest ownResumeRequest() throws Exception {
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) content[i] = (byte) i;
+        Path file = Files.write(dir.resolve(SHA256), content);
+        when(applicationRepository.existsByResumeUrlAndJobEmployerUserEmail("/uploads/" + OWN_RESUME, "other@employer.com"))
+                .thenReturn(true);
+        when(blobStore.localFile(OWN_RESUME)).thenReturn(Optional.of(file));
+        return new MockHttpServletRequest("GET", "/uploads/" + OWN_RESUME);
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.download("/" + OWN_RESUME, request, response);
+        return response;
+    }
+
+    @Test
+    void wholeFileIsServedWithValidators() throws Exception {
+        MockHttpServletResponse response = download(ownResumeRequest());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + SHA256 + "\"", response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void singleRangeIsServedAsPartialContent() throws Exception {
+        MockHttpServletRequest request = ownResumeRequest();
+        request.addHeader("Range", "bytes=100-199");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader("Content-Range"));
+        assertEquals(100, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void suffixRangeServesTheLastBytes() throws Exception {
+        MockHttpServletRequest request = ownResumeRequest();
+        request.addHeader("Range", "bytes=-10");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 990-999/1000", response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 990, 1000), response.getContentAsByteArray());
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws Exception {
+        MockHttpServletRequest request = ownResumeRequest();
+        request.addHeader("Range", "bytes=5000-");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        MockHttpServletRequest request = ownResumeRequest();
+        request.addHeader("If-None-Match", "\"" + SHA256 + "\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void rangeIsHonouredWhenIfRangeMatches() throws Exception {
+        MockHttpServletRequest request = ownResumeRequest();
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"" + SHA256 + "\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(content, 0, 10), response.getContentAsByteArray());
+    }
+
+    @Test
+    void staleIfRangeServesTheWholeFile() throws Exception {
+        MockHttpServletRequest request = ownResumeRequest();
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"an-older-version\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(null, response.getHeader("Content-Range"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+}
@@ -0,0 +1,98 @@
+package com.medexjob.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the Flyway migrations on MySQL 8 and checks with EXPLAIN that the list queries of
+ * {@link JobRepository} and {@link EmployerRepository} use the indexes added for them (V2-V4).
+ * The SQL mirrors what Hibernate renders for each repository method. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryIndexPlanTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.33");
+
+    private static final int JOBS = 5000;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // Plans only; the rows need no employers or users behind them
+            statement.execute("set foreign_key_checks = 0");
+            statement.execute("set session cte_max_recursion_depth = " + JOBS);
+            statement.execute("insert into locations (name, normalized_name) " +
+                    "with recursive seq(n) as (select 1 union all select n + 1 from seq where n < 50) " +
+                    "select concat('City ', n), concat('city ', n) from seq");
+            statement.execute("insert into jobs (id, employer_id, title, description, qualification, experience, " +
+                    "location, location_id, contact_email, contact_phone, category, sector, status, last_date, " +
+                    "number_of_posts, views, applications_count, is_featured, created_at, salary_min, salary_max) " +
+                    "with recursive seq(n) as (select 1 union all select n + 1 from seq where n < " + JOBS + ") " +
+                    "select uuid_to_bin(uuid()), uuid_to_bin(uuid()), concat('Job ', n), 'd', 'q', '0-2 years', " +
+                    "concat('City ', n % 50 + 1), n % 50 + 1, 'hr@example.com', '9999999999', 'MEDICAL_OFFICER', " +
+                    "if(n % 2 = 0, 'PRIVATE', 'GOVERNMENT'), elt(n % 4 + 1, 'ACTIVE', 'CLOSED', 'PENDING', 'DRAFT'), " +
+                    "date_add('2026-01-01', interval n % 365 day), 1, n * 7 % 1000, n * 3 % 100, n % 20 = 0, " +
+                    "date_add('2025-01-01', interval n minute), 10000 + n * 37 % 190000, 20000 + n * 37 % 190000 " +
+                    "from seq");
+            statement.execute("insert into employers (id, user_id, company_name, company_type, verification_status, " +
+                    "is_verified, created_at) " +
+                    "with recursive seq(n) as (select 1 union all select n + 1 from seq where n < 500) " +
+                    "select uuid_to_bin(uuid()), uuid_to_bin(uuid()), concat('Hospital ', n), 'HOSPITAL', " +
+                    "elt(n % 3 + 1, 'PENDING', 'APPROVED', 'REJECTED'), n % 3 = 1, " +
+                    "date_add('2025-01-01', interval n hour) from seq");
+            statement.execute("analyze table jobs, employers, locations");
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            // findByStatus / active listing, default sort createdAt desc
+            "status listing | select id from jobs where status = 'ACTIVE' order by created_at desc limit 20 " +
+                    "| ix_jobs_status_created_at",
+            // findTopViewedJobs
+            "top viewed | select id from jobs where status = 'ACTIVE' order by views desc limit 10 | ix_jobs_status_views",
+            // findJobsByCriteria with a location filter (ids from JobDimensionService)
+            "criteria by location | select id from jobs where location_id in (7) and status = 'ACTIVE' " +
+                    "order by created_at desc limit 20 | ix_jobs_location_id_status_created_at",
+            // findJobsByCriteria with a minimum salary
+            "criteria by salary | select id from jobs where status = 'ACTIVE' and salary_max >= 195000 " +
+                    "| ix_jobs_status_salary_max",
+            // findBySector
+            "sector listing | select id from jobs where sector = 'PRIVATE' order by created_at desc limit 20 " +
+                    "| ix_jobs_sector_created_at",
+            // EmployerRepository.findByCompanyName (resolveOrCreateEmployer)
+            "employer by company | select id from employers where company_name = 'Hospital 42' " +
+                    "| ix_employers_company_name",
+    })
+    void listQueryUsesItsIndex(String query, String sql, String expectedIndex) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("explain " + sql)) {
+            plan.next();
+            assertEquals(expectedIndex, plan.getString("key"), () -> "Plan of " + sql);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+}
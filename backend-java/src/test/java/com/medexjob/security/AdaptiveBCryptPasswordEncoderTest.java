@@ -0,0 +1,36 @@
+package com.medexjob.security;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    private static String hashWithCost(int cost) {
+        return String.format("$2a$%02d$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy", cost);
+    }
+
+    @ParameterizedTest(name = "strength {0}, tolerance {1}, stored {2} -> {3}")
+    @CsvSource({
+            // Configured strength: any difference, both directions
+            "11, 0, 10, true",
+            "11, 0, 12, true",
+            "11, 0, 11, false",
+            // Calibrated strength: one step either way is calibration noise
+            "11, 1, 10, false",
+            "11, 1, 12, false",
+            "12, 1, 10, true",
+            "10, 1, 12, true",
+    })
+    void upgradeEncoding(int strength, int tolerance, int storedCost, boolean expected) {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(strength, tolerance);
+        assertEquals(expected, encoder.upgradeEncoding(hashWithCost(storedCost)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"NULL", "plain-text", "{noop}secret"}, nullValues = "NULL")
+    void nonBCryptValuesAreNotUpgraded(String encoded) {
+        assertEquals(false, new AdaptiveBCryptPasswordEncoder(10).upgradeEncoding(encoded));
+    }
+}
@@ -0,0 +1,92 @@
+package com.medexjob.service;
+
+import com.medexjob.entity.UploadSession;
+import com.medexjob.repository.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ChunkedUploadServiceTest {
+
+    private static final String OWNER = "candidate@example.com";
+    private static final byte[] CONTENT = "resume bytes".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadSessionRepository repository;
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UploadSessionRepository.class);
+        when(repository.save(any(UploadSession.class))).thenAnswer(invocation -> {
+            UploadSession session = invocation.getArgument(0);
+            if (session.getId() == null) session.setId(UUID.randomUUID());
+            when(repository.findById(session.getId())).thenReturn(Optional.of(session));
+            return session;
+        });
+        service = newService("node-a");
+    }
+
+    private ChunkedUploadService newService(String nodeId) {
+        return new ChunkedUploadService(repository, uploadDir.toString() + "/", DataSize.ofMegabytes(1),
+                DataSize.ofKilobytes(64), Duration.ofHours(1), nodeId);
+    }
+
+    @Test
+    void initWithoutChecksumIsRejected() {
+        for (String sha256 : new String[]{null, " "}) {
+            UploadException e = assertThrows(UploadException.class, () -> service.init(
+                    UploadSession.UploadPurpose.RESUME, OWNER, "cv.pdf", "application/pdf", CONTENT.length, sha256));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        }
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void uploadWithMatchingChecksumCompletes() throws Exception {
+        UploadSession session = service.init(UploadSession.UploadPurpose.RESUME, OWNER, "cv.pdf",
+                "application/pdf", CONTENT.length, sha256(CONTENT));
+
+        service.appendChunk(session.getId(), OWNER, 0, new ByteArrayInputStream(CONTENT));
+        UploadSession completed = service.complete(session.getId(), OWNER);
+
+        assertEquals(UploadSession.UploadStatus.COMPLETED, completed.getStatus());
+        assertArrayEquals(CONTENT, Files.readAllBytes(service.fileOf(completed)));
+    }
+
+    @Test
+    void chunkReachingAnotherNodeIsRefused() throws Exception {
+        UploadSession session = service.init(UploadSession.UploadPurpose.RESUME, OWNER, "cv.pdf",
+                "application/pdf", CONTENT.length, sha256(CONTENT));
+        ChunkedUploadService otherNode = newService("node-b");
+
+        UploadException e = assertThrows(UploadException.class,
+                () -> otherNode.appendChunk(session.getId(), OWNER, 0, new ByteArrayInputStream(CONTENT)));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+        assertEquals(0L, e.getCurrentOffset());
+        assertEquals(0L, Files.size(service.fileOf(session)));
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
@@ -0,0 +1,155 @@
+package com.medexjob.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentAnalyzerTest {
+
+    @TempDir
+    Path dir;
+
+    private DocumentAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new DocumentAnalyzer();
+        ReflectionTestUtils.setField(analyzer, "maxTextChars", 1000);
+        ReflectionTestUtils.setField(analyzer, "thumbnailWidth", 240);
+        ReflectionTestUtils.setField(analyzer, "maxXmlBytes", 64 * 1024);
+        ReflectionTestUtils.setField(analyzer, "maxPages", 1);
+        ReflectionTestUtils.setField(analyzer, "maxImagePixels", 1_000_000L);
+    }
+
+    @Test
+    void docxWhoseXmlInflatesPastTheCapIsRejected() throws Exception {
+        // ~1 KB on disk, 4 MB once inflated
+        Path bomb = dir.resolve("bomb.docx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(bomb))) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            byte[] zeros = new byte[64 * 1024];
+            for (int i = 0; i < 64; i++) zip.write(zeros);
+            zip.closeEntry();
+        }
+        assertTrue(Files.size(bomb) < 16 * 1024);
+
+        assertThrows(DocumentAnalyzer.LimitExceededException.class, () -> analyzer.analyze(bomb));
+    }
+
+    @Test
+    void docxWithinTheCapIsRead() throws Exception {
+        Path docx = dir.resolve("cv.docx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(docx))) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write("<w:p><w:r><w:t>Staff nurse</w:t></w:r></w:p>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        DocumentAnalyzer.Result result = analyzer.analyze(docx);
+
+        assertEquals(DocumentAnalyzer.MIME_DOCX, result.mimeType);
+        assertEquals("Staff nurse", result.text);
+    }
+
+    @Test
+    void imageWhoseHeaderExceedsThePixelLimitIsNotDecoded() throws Exception {
+        // A PNG header announcing 50000 x 50000 pixels, with no image data behind it
+        Path png = dir.resolve("huge.png");
+        Files.write(png, pngHeader(50_000, 50_000));
+
+        DocumentAnalyzer.Result result = analyzer.analyze(png);
+
+        assertEquals(DocumentAnalyzer.MIME_PNG, result.mimeType);
+        assertNull(result.thumbnailPng);
+        assertNull(result.pageCount);
+    }
+
+    @Test
+    void imageWithinThePixelLimitGetsAThumbnail() throws Exception {
+        Path png = dir.resolve("photo.png");
+        try (OutputStream out = Files.newOutputStream(png)) {
+            ImageIO.write(new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB), "png", out);
+        }
+
+        DocumentAnalyzer.Result result = analyzer.analyze(png);
+
+        assertEquals(1, result.pageCount);
+        BufferedImage thumbnail = ImageIO.read(new java.io.ByteArrayInputStream(result.thumbnailPng));
+        assertEquals(240, thumbnail.getWidth());
+    }
+
+    @Test
+    void textIsReadOnlyUpToTheCharacterLimit() throws Exception {
+        Path txt = dir.resolve("cover.txt");
+        Files.writeString(txt, "a".repeat(1_000_000));
+
+        DocumentAnalyzer.Result result = analyzer.analyze(txt);
+
+        assertEquals(DocumentAnalyzer.MIME_TEXT, result.mimeType);
+        assertEquals(1000, result.text.length());
+    }
+
+    @Test
+    void pdfTextStopsAtThePageLimit() throws Exception {
+        Path pdf = dir.resolve("cv.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (String text : new String[]{"First page", "Second page"}) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText(text);
+                    content.endText();
+                }
+            }
+            document.save(pdf.toFile());
+        }
+
+        DocumentAnalyzer.Result result = analyzer.analyze(pdf);
+
+        assertEquals(2, result.pageCount);
+        assertTrue(result.text.contains("First page"));
+        assertFalse(result.text.contains("Second page"));
+    }
+
+    private static byte[] pngHeader(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A});
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+        DataOutputStream chunk = new DataOutputStream(ihdr);
+        chunk.writeBytes("IHDR");
+        chunk.writeInt(width);
+        chunk.writeInt(height);
+        chunk.write(new byte[]{8, 2, 0, 0, 0}); // 8-bit RGB, no interlace
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.toByteArray());
+        out.writeInt(13);
+        out.write(ihdr.toByteArray());
+        out.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,128 @@
+package com.medexjob.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalBlobStore(root);
+    }
+
+    @Test
+    void putThenGetReturnsTheContent() throws IOException {
+        put("resumes/ab/cd/abcd", "resume");
+
+        assertTrue(store.exists("resumes/ab/cd/abcd"));
+        assertEquals("resume", read("resumes/ab/cd/abcd"));
+    }
+
+    @Test
+    void putReplacesAnExistingBlob() throws IOException {
+        put("resumes/ab/cd/abcd", "old");
+        put("resumes/ab/cd/abcd", "new");
+
+        assertEquals("new", read("resumes/ab/cd/abcd"));
+    }
+
+    @Test
+    void putOfALocalFileMovesItIntoTheStore() throws IOException {
+        Path file = Files.writeString(root.resolve("tmp").resolve("assembled.part"), "document");
+
+        store.put("employer-documents/1/license.pdf", file, "application/pdf");
+
+        assertFalse(Files.exists(file));
+        assertEquals("document", read("employer-documents/1/license.pdf"));
+    }
+
+    @Test
+    void getOfAMissingBlobThrowsNoSuchFile() {
+        assertThrows(NoSuchFileException.class, () -> store.get("resumes/missing"));
+        assertFalse(store.exists("resumes/missing"));
+    }
+
+    @Test
+    void deleteRemovesTheBlobAndIgnoresMissingOnes() throws IOException {
+        put("resumes/ab/cd/abcd", "resume");
+
+        store.delete("resumes/ab/cd/abcd");
+        store.delete("resumes/ab/cd/abcd");
+
+        assertFalse(store.exists("resumes/ab/cd/abcd"));
+    }
+
+    @Test
+    void listReturnsBlobsUnderThePrefixOnly() throws IOException {
+        put("resumes/ab/cd/abcd", "1");
+        put("resumes/ab/ef/abef", "22");
+        put("resumes/ba/cd/bacd", "333");
+        put("thumbnails/abcd.png", "4444");
+        Files.writeString(root.resolve("tmp").resolve("blob-1.part"), "in progress");
+
+        try (Stream<BlobEntry> entries = store.list("resumes/ab")) {
+            List<String> keys = entries.map(BlobEntry::getKey).sorted().toList();
+            assertEquals(List.of("resumes/ab/cd/abcd", "resumes/ab/ef/abef"), keys);
+        }
+        try (Stream<BlobEntry> entries = store.list("")) {
+            assertEquals(4, entries.count());
+        }
+        try (Stream<BlobEntry> entries = store.list("thumbnails/")) {
+            BlobEntry entry = entries.findFirst().orElseThrow();
+            assertEquals(4, entry.getSizeBytes());
+            assertNotNull(entry.getLastModified());
+        }
+        try (Stream<BlobEntry> entries = store.list("nothing/here")) {
+            assertEquals(0, entries.count());
+        }
+    }
+
+    @Test
+    void localFileIsPresentOnlyForExistingBlobs() throws IOException {
+        put("resumes/ab/cd/abcd", "resume");
+
+        Path file = store.localFile("resumes/ab/cd/abcd").orElseThrow();
+        assertEquals("resume", Files.readString(file));
+        assertTrue(store.localFile("resumes/missing").isEmpty());
+        assertTrue(store.presignedDownloadUrl("resumes/ab/cd/abcd", java.time.Duration.ofMinutes(5)).isEmpty());
+    }
+
+    @Test
+    void keysOutsideTheRootAreRejected() {
+        for (String key : new String[]{"../outside", "resumes/../../outside", "/etc/passwd", ".", ""}) {
+            assertThrows(IllegalArgumentException.class, () -> store.get(key), key);
+            assertThrows(IllegalArgumentException.class, () -> put(key, "x"), key);
+            assertThrows(IllegalArgumentException.class, () -> store.delete(key), key);
+        }
+        assertFalse(Files.exists(root.getParent().resolve("outside")));
+    }
+
+    private void put(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        store.put(key, new ByteArrayInputStream(bytes), bytes.length, "text/plain");
+    }
+
+    private String read(String key) throws IOException {
+        try (InputStream in = store.get(key)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.medexjob.storage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link S3BlobStore} against a MinIO container, configured the way {@code StorageConfig} does
+ * for {@code storage.type=s3}. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStoreTest {
+
+    private static final String BUCKET = "medexjob-test";
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @Container
+    static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    private static S3Client s3;
+    private static S3Presigner presigner;
+    private static S3BlobStore store;
+
+    @BeforeAll
+    static void setUp() {
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword()));
+        S3Configuration pathStyle = S3Configuration.builder().pathStyleAccessEnabled(true).build();
+        URI endpoint = URI.create(MINIO.getS3URL());
+        s3 = S3Client.builder().region(Region.US_EAST_1).credentialsProvider(credentials)
+                .serviceConfiguration(pathStyle).endpointOverride(endpoint).build();
+        presigner = S3Presigner.builder().region(Region.US_EAST_1).credentialsProvider(credentials)
+                .serviceConfiguration(pathStyle).endpointOverride(endpoint).build();
+        s3.createBucket(b -> b.bucket(BUCKET));
+        store = new S3BlobStore(s3, presigner, BUCKET, PART_SIZE, PART_SIZE);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (presigner != null) presigner.close();
+        if (s3 != null) s3.close();
+    }
+
+    @Test
+    void putGetExistsDelete() throws IOException {
+        put("resumes/ab/cd/abcd", "resume".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(store.exists("resumes/ab/cd/abcd"));
+        assertEquals("resume", new String(read("resumes/ab/cd/abcd"), StandardCharsets.UTF_8));
+
+        store.delete("resumes/ab/cd/abcd");
+        assertFalse(store.exists("resumes/ab/cd/abcd"));
+        assertThrows(NoSuchFileException.class, () -> store.get("resumes/ab/cd/abcd"));
+    }
+
+    @Test
+    void blobAboveTheThresholdIsUploadedInParts() throws IOException {
+        byte[] content = new byte[2 * PART_SIZE + 1234];
+        new Random(42).nextBytes(content);
+
+        put("employer-documents/large.pdf", content);
+
+        assertArrayEquals(content, read("employer-documents/large.pdf"));
+        assertTrue(s3.headObject(b -> b.bucket(BUCKET).key("employer-documents/large.pdf")).eTag().contains("-3"),
+                "multipart ETag ends with the part count");
+    }
+
+    @Test
+    void blobOfUnknownLengthIsUploadedInParts() throws IOException {
+        byte[] content = "streamed without a length".getBytes(StandardCharsets.UTF_8);
+
+        store.put("resumes/unknown-length", new ByteArrayInputStream(content), -1, "text/plain");
+
+        assertArrayEquals(content, read("resumes/unknown-length"));
+    }
+
+    @Test
+    void listReturnsKeysUnderThePrefix() throws IOException {
+        put("thumbnails/a.png", new byte[3]);
+        put("thumbnails/b.png", new byte[5]);
+        put("resumes/zz/other", new byte[1]);
+
+        try (Stream<BlobEntry> entries = store.list("thumbnails/")) {
+            List<BlobEntry> list = entries.sorted((x, y) -> x.getKey().compareTo(y.getKey())).toList();
+            assertEquals(List.of("thumbnails/a.png", "thumbnails/b.png"), list.stream().map(BlobEntry::getKey).toList());
+            assertEquals(5, list.get(1).getSizeBytes());
+        }
+    }
+
+    @Test
+    void presignedUrlDownloadsTheBlob() throws Exception {
+        put("resumes/presigned", "direct".getBytes(StandardCharsets.UTF_8));
+
+        URI url = store.presignedDownloadUrl("resumes/presigned", Duration.ofMinutes(5)).orElseThrow();
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(url).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("direct", response.body());
+    }
+
+    private static void put(String key, byte[] content) throws IOException {
+        store.put(key, new ByteArrayInputStream(content), content.length, "application/octet-stream");
+    }
+
+    private static byte[] read(String key) throws IOException {
+        try (InputStream in = store.get(key)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.medexjob.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RangeParserTest {
+
+    @ParameterizedTest(name = "salary \"{0}\" -> [{1}, {2}]")
+    @CsvSource(delimiter = '|', nullValues = "NULL", value = {
+            "₹80,000–1,20,000               | 80000  | 120000",
+            "1-1.5 lakh per month           | 100000 | 150000",
+            "12 LPA                         | 100000 | 100000",
+            "Rs. 80,000/- to Rs. 1,20,000   | 80000  | 120000",
+            "50,000 to 1 lakh               | 50000  | 100000",
+            "Min 30,000 - Max 50,000        | 30000  | 50000",
+            "60,000 + allowances of 5,000   | 60000  | 60000",
+            "As per norms                   | NULL   | NULL",
+            "NULL                           | NULL   | NULL",
+    })
+    void salary(String text, Integer min, Integer max) {
+        assertEquals(new RangeParser.Range(min, max), RangeParser.salary(text));
+    }
+
+    @ParameterizedTest(name = "experience \"{0}\" -> [{1}, {2}]")
+    @CsvSource(delimiter = '|', nullValues = "NULL", value = {
+            "0-2 years                      | 0      | 24",
+            "2 to 5 years                   | 24     | 60",
+            "Min 2 yrs - Max 5 yrs          | 24     | 60",
+            "Minimum 2 years, maximum 5 years | 24   | 60",
+            "min 2 max 5 years              | 24     | 60",
+            "5+ yrs                         | 60     | 600",
+            "3 years and above              | 36     | 600",
+            "Minimum 2 years                | 24     | 600",
+            "Up to 3 years                  | 0      | 36",
+            "Max 5 yrs                      | 0      | 60",
+            "6 months                       | 6      | 6",
+            "1 year                         | 12     | 12",
+            "Fresher                        | 0      | 0",
+            "Not specified                  | NULL   | NULL",
+    })
+    void experienceMonths(String text, Integer min, Integer max) {
+        assertEquals(new RangeParser.Range(min, max), RangeParser.experienceMonths(text));
+    }
+}